@@ -29,15 +29,28 @@ android {
         sourceCompatibility = JavaVersion.VERSION_1_8
         targetCompatibility = JavaVersion.VERSION_1_8
     }
+    testOptions {
+        unitTests.all {
+            // Leaderboard load test, e.g. ./gradlew :app:testDebugUnitTest -Dleaderboard.loadTest=true -Dleaderboard.rows=10000000
+            it.systemProperty("leaderboard.loadTest", System.getProperty("leaderboard.loadTest", "false"))
+            it.systemProperty("leaderboard.rows", System.getProperty("leaderboard.rows", "100000"))
+            it.systemProperty("leaderboard.seed", System.getProperty("leaderboard.seed", "42"))
+            it.maxHeapSize = "2g"
+        }
+    }
 }
 
 dependencies {
 
+    implementation(project(":core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.lifecycle.viewmodel.savedstate)
+    implementation(libs.lifecycle.livedata)
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
@@ -5,24 +5,39 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 
 import com.example.sequencegame.Score;
+import com.example.sequencegame.sync.SyncRecord;
+import com.example.sequencegame.sync.SyncStore;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * DatabaseHandler manages all database operations for the Sequence Game.
  * It handles creating the database, adding scores, retrieving top scores,
  * and checking if a score qualifies as a high score.
+ * It is also the local store for leaderboard sync: new scores are queued in an outbox until they
+ * are uploaded, and downloaded scores are merged in along with the sync high-water mark.
  */
-public class DatabaseHandler extends SQLiteOpenHelper {
-    private static final int DATABASE_VERSION = 1;
+public class DatabaseHandler extends SQLiteOpenHelper implements SyncStore {
+    private static final int DATABASE_VERSION = 4;
     private static final String DATABASE_NAME = "sequenceGameDB";
     private static final String TABLE_SCORES = "scores";
     private static final String KEY_ID = "id";
     private static final String KEY_NAME = "name";
     private static final String KEY_SCORE = "score";
+    private static final String INDEX_SCORE = "idx_scores_score";
+    private static final String INDEX_NAME = "idx_scores_name";
+    private static final String KEY_UID = "uid";
+    private static final String INDEX_UID = "idx_scores_uid";
+    private static final String TABLE_OUTBOX = "outbox";
+    private static final String TABLE_SYNC_STATE = "sync_state";
+    private static final String KEY_STATE_NAME = "name";
+    private static final String KEY_STATE_VALUE = "value";
+    private static final String STATE_HIGH_WATER_MARK = "highWaterMark";
 
     public DatabaseHandler(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
@@ -35,33 +50,122 @@ public class DatabaseHandler extends SQLiteOpenHelper {
     public void onCreate(SQLiteDatabase db) {
         String CREATE_SCORES_TABLE = "CREATE TABLE " + TABLE_SCORES + "("
                 + KEY_ID + " INTEGER PRIMARY KEY," + KEY_NAME + " TEXT,"
-                + KEY_SCORE + " INTEGER" + ")";
+                + KEY_SCORE + " INTEGER," + KEY_UID + " TEXT" + ")";
         db.execSQL(CREATE_SCORES_TABLE);
+        createScoreIndex(db);
+        createNameIndex(db);
+        createSyncTables(db);
+    }
+
+    /**
+     * Creates the index that top score and rank queries read instead of scanning the table.
+     */
+    private void createScoreIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_SCORE + " ON " + TABLE_SCORES + "(" + KEY_SCORE + ")");
+    }
+
+    /**
+     * Creates the index that the distinct player name query reads instead of scanning the table.
+     */
+    private void createNameIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + INDEX_NAME + " ON " + TABLE_SCORES + "(" + KEY_NAME + ")");
+    }
+
+    /**
+     * Creates the uid index that merging downloaded scores relies on, the outbox and the sync state table.
+     */
+    private void createSyncTables(SQLiteDatabase db) {
+        db.execSQL("CREATE UNIQUE INDEX " + INDEX_UID + " ON " + TABLE_SCORES + "(" + KEY_UID + ")");
+        db.execSQL("CREATE TABLE " + TABLE_OUTBOX + "("
+                + KEY_ID + " INTEGER PRIMARY KEY," + KEY_UID + " TEXT," + KEY_NAME + " TEXT,"
+                + KEY_SCORE + " INTEGER" + ")");
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + "("
+                + KEY_STATE_NAME + " TEXT PRIMARY KEY," + KEY_STATE_VALUE + " INTEGER" + ")");
+    }
+
+    /**
+     * Gives the scores stored before version 4 a uid and queues them for upload.
+     */
+    private void queueExistingScores(SQLiteDatabase db) {
+        db.execSQL("UPDATE " + TABLE_SCORES + " SET " + KEY_UID + " = lower(hex(randomblob(16)))"
+                + " WHERE " + KEY_UID + " IS NULL");
+        db.execSQL("INSERT INTO " + TABLE_OUTBOX + " (" + KEY_UID + ", " + KEY_NAME + ", " + KEY_SCORE + ")"
+                + " SELECT " + KEY_UID + ", " + KEY_NAME + ", " + KEY_SCORE + " FROM " + TABLE_SCORES
+                + " ORDER BY " + KEY_ID);
     }
 
     /**
      * Upgrades the database schema if the version number changes.
-     * Currently, it drops the existing table and creates a new one.
+     * Versions 2 and 3 only add indexes and version 4 adds the sync tables, so existing scores are kept.
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SCORES);
-        onCreate(db);
+        if (oldVersion < 2) {
+            createScoreIndex(db);
+        }
+        if (oldVersion < 3) {
+            createNameIndex(db);
+        }
+        if (oldVersion < 4) {
+            db.execSQL("ALTER TABLE " + TABLE_SCORES + " ADD COLUMN " + KEY_UID + " TEXT");
+            createSyncTables(db);
+            queueExistingScores(db);
+        }
+    }
+
+    // The read queries are package-private so DatabaseHandlerLoadTest can check their plans
+
+    static final String DISTINCT_NAMES_QUERY = "SELECT DISTINCT " + KEY_NAME + " FROM " + TABLE_SCORES;
+
+    /**
+     * Equal scores are returned newest first, matching Leaderboard.offer. The score index already
+     * holds each score's rows in id order, so the tiebreaker needs no extra sort.
+     */
+    static String topScoresQuery(int limit) {
+        return "SELECT " + KEY_ID + ", " + KEY_NAME + ", " + KEY_SCORE + ", " + KEY_UID
+                + " FROM " + TABLE_SCORES + " ORDER BY " + KEY_SCORE + " DESC, " + KEY_ID + " DESC LIMIT " + limit;
     }
 
     /**
-     * Adds a new score to the database.
+     * Fewer than LEADERBOARD_SIZE scores beat a score exactly when the last board entry does not,
+     * and that entry is read straight from the index instead of counting every better score.
+     */
+    static String highScoreThresholdQuery() {
+        return "SELECT " + KEY_SCORE + " FROM " + TABLE_SCORES + " ORDER BY " + KEY_SCORE
+                + " DESC LIMIT 1 OFFSET " + (GameRules.LEADERBOARD_SIZE - 1);
+    }
+
+    static String rankQuery(int score) {
+        return "SELECT COUNT(*) FROM " + TABLE_SCORES + " WHERE " + KEY_SCORE + " > " + score;
+    }
+
+    /**
+     * Adds a new score to the database and queues it for upload.
      * @param score The Score object to be added to the database.
      */
     public void addScore(Score score) {
+        long start = System.nanoTime();
+        GameTrace.begin(GameTrace.DB_WRITE, score.getScore());
         SQLiteDatabase db = this.getWritableDatabase();
 
+        if (score.getUid() == null) {
+            score.setUid(UUID.randomUUID().toString());
+        }
         ContentValues values = new ContentValues();
+        values.put(KEY_UID, score.getUid());
         values.put(KEY_NAME, score.getName());
         values.put(KEY_SCORE, score.getScore());
 
-        db.insert(TABLE_SCORES, null, values);
-        db.close();
+        db.beginTransaction();
+        try {
+            db.insert(TABLE_SCORES, null, values);
+            db.insert(TABLE_OUTBOX, null, values);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        GameTrace.end(GameTrace.DB_WRITE, score.getScore());
+        GameMetrics.DB_ADD_SCORE.record(System.nanoTime() - start);
     }
 
     /**
@@ -70,8 +174,9 @@ public class DatabaseHandler extends SQLiteOpenHelper {
      * @return A list of Score objects representing the top scores.
      */
     public List<Score> getTopScores(int limit) {
+        long start = System.nanoTime();
         List<Score> scoreList = new ArrayList<>();
-        String selectQuery = "SELECT * FROM " + TABLE_SCORES + " ORDER BY " + KEY_SCORE + " DESC LIMIT " + limit;
+        String selectQuery = topScoresQuery(limit);
 
         SQLiteDatabase db = this.getWritableDatabase();
         Cursor cursor = db.rawQuery(selectQuery, null);
@@ -83,27 +188,142 @@ public class DatabaseHandler extends SQLiteOpenHelper {
                 score.setId(Integer.parseInt(cursor.getString(0)));
                 score.setName(cursor.getString(1));
                 score.setScore(Integer.parseInt(cursor.getString(2)));
+                score.setUid(cursor.getString(3));
                 scoreList.add(score);
             } while (cursor.moveToNext());
         }
 
         cursor.close();
+        GameMetrics.DB_GET_TOP_SCORES.record(System.nanoTime() - start);
         return scoreList;
     }
 
     /**
      * Checks if a given score qualifies as a high score.
      * @param score The score to check.
-     * @return true if the score is among the top 10 scores, false otherwise.
+     * @return true if the score is among the top GameRules.LEADERBOARD_SIZE scores, false otherwise.
      */
     public boolean isHighScore(int score) {
-        String selectQuery = "SELECT COUNT(*) FROM " + TABLE_SCORES + " WHERE " + KEY_SCORE + " > " + score;
+        long start = System.nanoTime();
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery(selectQuery, null);
+        Cursor cursor = db.rawQuery(highScoreThresholdQuery(), null);
+        boolean isHighScore = !cursor.moveToFirst() || cursor.getInt(0) <= score;
+        cursor.close();
+        GameMetrics.DB_IS_HIGH_SCORE.record(System.nanoTime() - start);
+        return isHighScore;
+    }
+
+    /**
+     * Returns the rank a score takes among all stored scores, where 1 is the best.
+     * Equal scores share a rank.
+     * @param score The score to rank.
+     */
+    public int getRank(int score) {
+        long start = System.nanoTime();
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(rankQuery(score), null);
         cursor.moveToFirst();
-        int count = cursor.getInt(0);
+        int rank = cursor.getInt(0) + 1;
         cursor.close();
-        return count < 10; // Changed to 10 to match the new top scores limit
+        GameMetrics.DB_GET_RANK.record(System.nanoTime() - start);
+        return rank;
+    }
+
+    /**
+     * Retrieves every distinct player name, read from the name index.
+     * @return A list of the names in index order.
+     */
+    public List<String> getDistinctNames() {
+        long start = System.nanoTime();
+        List<String> names = new ArrayList<>();
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(DISTINCT_NAMES_QUERY, null);
+        while (cursor.moveToNext()) {
+            names.add(cursor.getString(0));
+        }
+        cursor.close();
+        GameMetrics.DB_GET_DISTINCT_NAMES.record(System.nanoTime() - start);
+        return names;
+    }
+
+    /**
+     * Retrieves the oldest scores waiting to be uploaded.
+     * @param limit The maximum number of scores to retrieve.
+     * @return The scores, with their outbox row id as the sequence.
+     */
+    @Override
+    public List<SyncRecord> readOutbox(int limit) {
+        List<SyncRecord> records = new ArrayList<>();
+        String selectQuery = "SELECT " + KEY_ID + ", " + KEY_UID + ", " + KEY_NAME + ", " + KEY_SCORE
+                + " FROM " + TABLE_OUTBOX + " ORDER BY " + KEY_ID + " LIMIT " + limit;
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(selectQuery, null);
+        while (cursor.moveToNext()) {
+            records.add(new SyncRecord(cursor.getString(1), cursor.getString(2), cursor.getInt(3), cursor.getLong(0)));
+        }
+        cursor.close();
+        return records;
     }
-}
 
+    /**
+     * Removes uploaded scores from the outbox.
+     * @param lastSequence The outbox row id of the last uploaded score.
+     */
+    @Override
+    public void deleteOutbox(long lastSequence) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.delete(TABLE_OUTBOX, KEY_ID + " <= ?", new String[]{String.valueOf(lastSequence)});
+    }
+
+    /**
+     * Returns the sequence number of the last score merged from the server, or 0 before the first sync.
+     */
+    @Override
+    public long getHighWaterMark() {
+        String selectQuery = "SELECT " + KEY_STATE_VALUE + " FROM " + TABLE_SYNC_STATE
+                + " WHERE " + KEY_STATE_NAME + " = ?";
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery(selectQuery, new String[]{STATE_HIGH_WATER_MARK});
+        long highWaterMark = cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        cursor.close();
+        return highWaterMark;
+    }
+
+    /**
+     * Merges downloaded scores in a single transaction, reusing one compiled insert for the batch.
+     * Scores already stored, such as this device's own uploads, are skipped by their uid.
+     * @param records The downloaded scores.
+     * @param highWaterMark The sequence number of the last downloaded score.
+     * @return The scores that were new to this device.
+     */
+    @Override
+    public List<SyncRecord> mergeRemote(List<SyncRecord> records, long highWaterMark) {
+        long start = System.nanoTime();
+        List<SyncRecord> merged = new ArrayList<>();
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            SQLiteStatement insert = db.compileStatement("INSERT OR IGNORE INTO " + TABLE_SCORES
+                    + " (" + KEY_UID + ", " + KEY_NAME + ", " + KEY_SCORE + ") VALUES (?, ?, ?)");
+            for (SyncRecord record : records) {
+                insert.bindString(1, record.getUid());
+                insert.bindString(2, record.getName());
+                insert.bindLong(3, record.getScore());
+                if (insert.executeInsert() != -1) {
+                    merged.add(record);
+                }
+            }
+            insert.close();
+
+            ContentValues state = new ContentValues();
+            state.put(KEY_STATE_NAME, STATE_HIGH_WATER_MARK);
+            state.put(KEY_STATE_VALUE, highWaterMark);
+            db.insertWithOnConflict(TABLE_SYNC_STATE, null, state, SQLiteDatabase.CONFLICT_REPLACE);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        GameMetrics.DB_MERGE_REMOTE.record(System.nanoTime() - start);
+        return merged;
+    }
+}
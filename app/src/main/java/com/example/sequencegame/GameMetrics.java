@@ -0,0 +1,38 @@
+package com.example.sequencegame;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameMetrics holds the app-wide metrics registry and the metrics recorded along the input path
+ * (sensor timestamp, classification, checkInput, first animation frame) and around database calls
+ * and leaderboard sync.
+ * View them in MetricsActivity, reachable by long-pressing the title in debuggable builds.
+ */
+final class GameMetrics {
+
+    static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    static final LatencyHistogram SENSOR_TO_CLASSIFIED = REGISTRY.histogram("sensor_to_classified");
+    static final LatencyHistogram CHECK_INPUT = REGISTRY.histogram("check_input");
+    static final LatencyHistogram INPUT_TO_FRAME = REGISTRY.histogram("input_to_first_frame");
+    static final LatencyHistogram SENSOR_TO_FRAME = REGISTRY.histogram("sensor_to_first_frame");
+    static final LatencyHistogram DB_ADD_SCORE = REGISTRY.histogram("db_add_score");
+    static final LatencyHistogram DB_GET_TOP_SCORES = REGISTRY.histogram("db_get_top_scores");
+    static final LatencyHistogram DB_IS_HIGH_SCORE = REGISTRY.histogram("db_is_high_score");
+    static final LatencyHistogram DB_GET_RANK = REGISTRY.histogram("db_get_rank");
+    static final LatencyHistogram DB_GET_DISTINCT_NAMES = REGISTRY.histogram("db_get_distinct_names");
+    static final LatencyHistogram DB_MERGE_REMOTE = REGISTRY.histogram("db_merge_remote");
+    // One sample per game: the mean time per accepted input, so inputs per second is 1e9 / value
+    static final LatencyHistogram GAME_INPUT_INTERVAL = REGISTRY.histogram("game_input_interval");
+    static final LatencyHistogram LEADERBOARD_SYNC = REGISTRY.histogram("leaderboard_sync");
+
+    static final AtomicLong INPUTS_ACCEPTED = REGISTRY.counter("inputs_accepted");
+    // Ignored inputs count tilts, not sensor samples: each tilt is counted at most once
+    static final AtomicLong IGNORED_INPUT_DISABLED = REGISTRY.counter("ignored_input_disabled");
+    static final AtomicLong IGNORED_INPUT_DELAY = REGISTRY.counter("ignored_input_delay");
+    static final AtomicLong IGNORED_INPUT_NOT_NEUTRAL = REGISTRY.counter("ignored_input_not_neutral");
+    static final AtomicLong SYNC_FAILURES = REGISTRY.counter("sync_failures");
+
+    private GameMetrics() {
+    }
+}
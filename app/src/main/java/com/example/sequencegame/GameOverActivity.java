@@ -1,48 +1,67 @@
 package com.example.sequencegame;
 
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
+import android.widget.ArrayAdapter;
+import android.widget.Filter;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.sequencegame.DatabaseHandler;
 import com.example.sequencegame.Score;
 import com.google.android.material.button.MaterialButton;
-import com.google.android.material.textfield.TextInputEditText;
+import com.google.android.material.textfield.MaterialAutoCompleteTextView;
 import com.google.android.material.textfield.TextInputLayout;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * GameOverActivity is displayed when the player fails to match the sequence correctly.
- * It shows the final score and allows the player to submit their score if it's a high score.
+ * It shows the final score and rank and allows the player to submit their score if it's a high score.
+ * All database work goes through ScoreRepository, off the main thread.
  */
 public class GameOverActivity extends AppCompatActivity {
 
+    private static final int MAX_NAME_SUGGESTIONS = 5;
+
     private int finalScore;
+    private long minInputInterval;
+    private TextView rankTextView;
     private TextInputLayout nameInputLayout;
-    private TextInputEditText nameInput;
+    private MaterialAutoCompleteTextView nameInput;
     private MaterialButton submitScoreButton;
     private MaterialButton viewHighScoresButton;
-    private DatabaseHandler dbHandler;
+    private ScoreRepository scoreRepository;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_game_over);
 
-        dbHandler = new DatabaseHandler(this);
+        scoreRepository = ScoreRepository.getInstance(this);
         finalScore = getIntent().getIntExtra("score", 0);
+        minInputInterval = getIntent().getLongExtra("minInputInterval", 0);
 
         TextView scoreTextView = findViewById(R.id.scoreTextView);
         scoreTextView.setText("Final Score: " + finalScore);
 
+        TextView inputRateTextView = findViewById(R.id.inputRateTextView);
+        inputRateTextView.setText(String.format("%.1f inputs/sec", getIntent().getFloatExtra("inputsPerSecond", 0)));
+
+        rankTextView = findViewById(R.id.rankTextView);
         nameInputLayout = findViewById(R.id.nameInputLayout);
         nameInput = findViewById(R.id.nameInput);
         submitScoreButton = findViewById(R.id.submitScoreButton);
         viewHighScoresButton = findViewById(R.id.viewHighScoresButton);
 
+        // Suggest names of returning players so their scores are not split across spellings
+        scoreRepository.prefetchPlayerNames();
+        nameInput.setAdapter(new NameSuggestionAdapter(this, scoreRepository));
+
         submitScoreButton.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
@@ -57,25 +76,66 @@ public class GameOverActivity extends AppCompatActivity {
             }
         });
 
-        if (dbHandler.isHighScore(finalScore)) {
-            nameInputLayout.setVisibility(View.VISIBLE);
-            submitScoreButton.setVisibility(View.VISIBLE);
+        // The leaderboard is normally prefetched during the game, so this is answered without a query
+        Leaderboard leaderboard = scoreRepository.getCachedLeaderboard();
+        if (leaderboard != null) {
+            showNameInput(leaderboard.isHighScore(finalScore));
         } else {
-            nameInputLayout.setVisibility(View.GONE);
-            submitScoreButton.setVisibility(View.GONE);
+            showNameInput(false);
+            scoreRepository.isHighScore(finalScore, new ScoreRepository.Callback<Boolean>() {
+                @Override
+                public void onResult(Boolean isHighScore) {
+                    if (!isDestroyed()) {
+                        showNameInput(isHighScore);
+                    }
+                }
+            });
         }
+
+        scoreRepository.getRank(finalScore, new ScoreRepository.Callback<Integer>() {
+            @Override
+            public void onResult(Integer rank) {
+                if (!isDestroyed()) {
+                    rankTextView.setText("Rank: #" + rank);
+                }
+            }
+        });
     }
 
     /**
-     * Submits the player's score to the database if it's a high score.
+     * Shows the name input and submit button only for high scores.
+     */
+    private void showNameInput(boolean isHighScore) {
+        int visibility = isHighScore ? View.VISIBLE : View.GONE;
+        nameInputLayout.setVisibility(visibility);
+        submitScoreButton.setVisibility(visibility);
+    }
+
+    /**
+     * Submits the player's score if it's a high score.
+     * The write happens in the background and the updated leaderboard is handed straight
+     * to HighScoreActivity from memory.
      */
     private void submitScore() {
         String playerName = nameInput.getText().toString().trim();
         if (!playerName.isEmpty()) {
             Score newScore = new Score(playerName, finalScore);
-            dbHandler.addScore(newScore);
-            Toast.makeText(this, "Score submitted successfully!", Toast.LENGTH_SHORT).show();
-            viewHighScores();
+            submitScoreButton.setEnabled(false);
+            // The next game starts from the input interval this player reached; SequenceActivity has
+            // already stored it for the player the game started from
+            PlayerPreferences.setLastPlayer(this, playerName);
+            if (minInputInterval > 0) {
+                PlayerPreferences.setMinInputInterval(this, playerName, minInputInterval);
+            }
+            scoreRepository.addScore(newScore, new ScoreRepository.Callback<Leaderboard>() {
+                @Override
+                public void onResult(Leaderboard leaderboard) {
+                    if (!isDestroyed()) {
+                        Toast.makeText(GameOverActivity.this, "Score submitted successfully!", Toast.LENGTH_SHORT).show();
+                        viewHighScores();
+                    }
+                }
+            });
         } else {
             Toast.makeText(this, "Please enter your name", Toast.LENGTH_SHORT).show();
         }
@@ -88,5 +148,45 @@ public class GameOverActivity extends AppCompatActivity {
         startActivity(new Intent(this, HighScoreActivity.class));
         finish();
     }
-}
 
+    /**
+     * Adapter that looks up name suggestions in the repository's prefix index instead of
+     * filtering a full list of names.
+     */
+    private static class NameSuggestionAdapter extends ArrayAdapter<String> {
+
+        private final ScoreRepository scoreRepository;
+
+        private final Filter filter = new Filter() {
+            @Override
+            protected FilterResults performFiltering(CharSequence constraint) {
+                FilterResults results = new FilterResults();
+                List<String> names = constraint == null
+                        ? Collections.<String>emptyList()
+                        : scoreRepository.suggestPlayerNames(constraint.toString(), MAX_NAME_SUGGESTIONS);
+                results.values = names;
+                results.count = names.size();
+                return results;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            protected void publishResults(CharSequence constraint, FilterResults results) {
+                setNotifyOnChange(false);
+                clear();
+                addAll((List<String>) results.values);
+                notifyDataSetChanged();
+            }
+        };
+
+        NameSuggestionAdapter(Context context, ScoreRepository scoreRepository) {
+            super(context, android.R.layout.simple_dropdown_item_1line);
+            this.scoreRepository = scoreRepository;
+        }
+
+        @Override
+        public Filter getFilter() {
+            return filter;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.sequencegame;
+
+import android.os.Trace;
+
+/**
+ * GameTrace records game events into an always-on ring buffer and mirrors spans as
+ * android.os.Trace sections, so they also show up in system traces.
+ * Export the buffer from MetricsActivity to inspect reports like "the game missed my tilt".
+ */
+final class GameTrace {
+
+    static final int SENSOR_CLASSIFIED = 0;
+    static final int DIRECTION_EMITTED = 1;
+    static final int INPUT_ACCEPTED = 2;
+    static final int INPUT_REJECTED = 3;
+    static final int PLAYBACK_FLASH = 4;
+    static final int ROUND_TRANSITION = 5;
+    static final int GAME_OVER = 6;
+    static final int CHECK_INPUT = 7;
+    static final int DB_WRITE = 8;
+
+    // Argument of INPUT_REJECTED
+    static final int REJECTED_INPUT_DISABLED = 0;
+    static final int REJECTED_INPUT_DELAY = 1;
+    static final int REJECTED_NOT_NEUTRAL = 2;
+
+    private static final String[] EVENT_NAMES = {
+            "sensor_classified",
+            "direction_emitted",
+            "input_accepted",
+            "input_rejected",
+            "playback_flash",
+            "round_transition",
+            "game_over",
+            "check_input",
+            "db_write"
+    };
+
+    // At SENSOR_DELAY_GAME every sample (about 50 a second) is classified and every tilted one emitted,
+    // so this holds about 80 seconds of continuous tilting and under three minutes of the device at rest.
+    // A rejection is recorded once per tilt.
+    static final TraceRecorder RECORDER = new TraceRecorder(8192, EVENT_NAMES);
+
+    private GameTrace() {
+    }
+
+    static void instant(int event, int arg) {
+        RECORDER.instant(event, arg);
+    }
+
+    /**
+     * Starts a span; close it with end on the same thread.
+     */
+    static void begin(int event, int arg) {
+        Trace.beginSection(EVENT_NAMES[event]);
+        RECORDER.begin(event, arg);
+    }
+
+    static void end(int event, int arg) {
+        RECORDER.end(event, arg);
+        Trace.endSection();
+    }
+}
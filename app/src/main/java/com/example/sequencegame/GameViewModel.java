@@ -0,0 +1,210 @@
+package com.example.sequencegame;
+
+import androidx.lifecycle.SavedStateHandle;
+import androidx.lifecycle.ViewModel;
+
+import java.util.Random;
+
+/**
+ * GameViewModel keeps the state of a running game across configuration changes.
+ * The retained instance survives rotation as-is, and every change is also written to the
+ * SavedStateHandle as primitives so the game can resume after process death.
+ * Only the sequence's stream seed and position are saved, never the sequence itself.
+ * It also holds the player's input lockout and the input rate of the current game, which are
+ * only kept in memory.
+ */
+public class GameViewModel extends ViewModel {
+
+    public static final int PHASE_CALIBRATING = 0;
+    public static final int PHASE_DISPLAYING = 1;
+    public static final int PHASE_AWAITING_INPUT = 2;
+    public static final int PHASE_ROUND_COMPLETE = 3;
+    public static final int PHASE_GAME_OVER = 4;
+
+    // Length and score keys match the intent extras, which the default factory passes in as defaults
+    private static final String KEY_SEQUENCE_LENGTH = "sequenceLength";
+    private static final String KEY_SCORE = "score";
+    private static final String KEY_SEED = "seed";
+    private static final String KEY_STREAM_OFFSET = "streamOffset";
+    private static final String KEY_PLAYER_STEP = "playerStep";
+    private static final String KEY_PHASE = "phase";
+    private static final String KEY_DISPLAY_INDEX = "displayIndex";
+    private static final String KEY_INITIAL_POSITION = "initialPosition";
+
+    private final SavedStateHandle state;
+    private final SequenceEngine engine;
+    private final float[] initialPosition = new float[3];
+    private int phase;
+    private int displayIndex;
+    private AdaptiveLockout lockout;
+    private int inputCount;
+    private long inputNanos;
+    private long turnMarkNanos;
+
+    public GameViewModel(SavedStateHandle state) {
+        this.state = state;
+
+        Long savedSeed = state.get(KEY_SEED);
+        if (savedSeed != null) {
+            engine = new SequenceEngine(getInt(KEY_SEQUENCE_LENGTH, 0), getInt(KEY_SCORE, 0),
+                    new SequenceStream(savedSeed));
+            Long streamOffset = state.get(KEY_STREAM_OFFSET);
+            engine.restore(streamOffset != null ? streamOffset : 0, getInt(KEY_SEQUENCE_LENGTH, 0),
+                    getInt(KEY_SCORE, 0), getInt(KEY_PLAYER_STEP, 0));
+            restoreProgress();
+        } else {
+            int sequenceLength = getInt(KEY_SEQUENCE_LENGTH, GameRules.INITIAL_SEQUENCE_LENGTH);
+            engine = new SequenceEngine(sequenceLength, getInt(KEY_SCORE, 0), new SequenceStream(new Random().nextLong()));
+            phase = PHASE_CALIBRATING;
+            saveEngine();
+            state.set(KEY_PHASE, phase);
+        }
+    }
+
+    private void restoreProgress() {
+        phase = getInt(KEY_PHASE, PHASE_CALIBRATING);
+        displayIndex = getInt(KEY_DISPLAY_INDEX, 0);
+        float[] savedPosition = state.get(KEY_INITIAL_POSITION);
+        if (savedPosition != null) {
+            System.arraycopy(savedPosition, 0, initialPosition, 0, initialPosition.length);
+        }
+    }
+
+    private int getInt(String key, int defaultValue) {
+        Integer value = state.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    private void saveEngine() {
+        state.set(KEY_SEED, engine.getStream().getSeed());
+        state.set(KEY_STREAM_OFFSET, engine.getStreamOffset());
+        state.set(KEY_SEQUENCE_LENGTH, engine.getSequenceLength());
+        state.set(KEY_SCORE, engine.getCurrentScore());
+        state.set(KEY_PLAYER_STEP, engine.getPlayerStep());
+    }
+
+    /**
+     * Stores the calibrated neutral position and moves on to displaying the sequence.
+     */
+    public void finishCalibration() {
+        state.set(KEY_INITIAL_POSITION, initialPosition.clone());
+        setPhase(PHASE_DISPLAYING);
+        setDisplayIndex(0);
+    }
+
+    /**
+     * Checks the player's input against the sequence and advances the phase accordingly.
+     * @param direction The direction of the player's tilt
+     * @return One of the SequenceEngine result codes.
+     */
+    public int checkInput(int direction) {
+        int result = engine.checkInput(direction);
+        if (result == SequenceEngine.RESULT_ROUND_COMPLETE) {
+            setPhase(PHASE_ROUND_COMPLETE);
+        } else if (result == SequenceEngine.RESULT_WRONG) {
+            setPhase(PHASE_GAME_OVER);
+        }
+        state.set(KEY_SCORE, engine.getCurrentScore());
+        state.set(KEY_PLAYER_STEP, engine.getPlayerStep());
+        return result;
+    }
+
+    /**
+     * Moves on to the next, longer sequence and to displaying it.
+     * This only moves past the finished round in the stream; nothing is generated.
+     */
+    public void nextRound() {
+        engine.nextRound();
+        saveEngine();
+        setPhase(PHASE_DISPLAYING);
+        setDisplayIndex(0);
+    }
+
+    /**
+     * Returns the input lockout, or null until the Activity has set one up for the player.
+     */
+    public AdaptiveLockout getLockout() {
+        return lockout;
+    }
+
+    public void setLockout(AdaptiveLockout lockout) {
+        this.lockout = lockout;
+    }
+
+    /**
+     * Marks the start of the player's turn. Time between turns does not count towards the
+     * input rate, and the lockout does not learn from it.
+     * @param timestampNanos The current time on the sensor clock.
+     */
+    public void startTurn(long timestampNanos) {
+        turnMarkNanos = timestampNanos;
+        if (lockout != null) {
+            lockout.rearm();
+        }
+    }
+
+    /**
+     * Counts an accepted input towards the input rate of the game.
+     * @param timestampNanos The sensor timestamp of the input.
+     */
+    public void recordInput(long timestampNanos) {
+        inputCount++;
+        inputNanos += timestampNanos - turnMarkNanos;
+        turnMarkNanos = timestampNanos;
+    }
+
+    /**
+     * Returns the accepted inputs per second of the player's turns so far, or 0 before the first input.
+     */
+    public float getInputsPerSecond() {
+        return inputNanos > 0 ? inputCount * 1e9f / inputNanos : 0;
+    }
+
+    /**
+     * Returns the mean time per accepted input in nanoseconds, or 0 before the first input.
+     */
+    public long getMeanInputNanos() {
+        return inputCount > 0 ? inputNanos / inputCount : 0;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public void setPhase(int phase) {
+        this.phase = phase;
+        state.set(KEY_PHASE, phase);
+    }
+
+    public int getDisplayIndex() {
+        return displayIndex;
+    }
+
+    public void setDisplayIndex(int displayIndex) {
+        this.displayIndex = displayIndex;
+        state.set(KEY_DISPLAY_INDEX, displayIndex);
+    }
+
+    /**
+     * Returns the calibration buffer. While calibrating it is overwritten in place by sensor readings.
+     */
+    public float[] getInitialPosition() {
+        return initialPosition;
+    }
+
+    /**
+     * Returns one element of the current sequence. It is reproduced from the stream, so playback
+     * can pull elements one at a time without the sequence ever being stored.
+     */
+    public int getSequenceElement(int index) {
+        return engine.getElement(index);
+    }
+
+    public int getSequenceLength() {
+        return engine.getSequenceLength();
+    }
+
+    public int getCurrentScore() {
+        return engine.getCurrentScore();
+    }
+}
@@ -9,25 +9,28 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.appcompat.widget.Toolbar;
+import androidx.lifecycle.Observer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.sequencegame.DatabaseHandler;
 import com.example.sequencegame.Score;
 import com.google.android.material.button.MaterialButton;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * HighScoreActivity displays the top scores of the Sequence Game.
- * It retrieves scores from the database and shows them in a RecyclerView.
+ * It observes the leaderboard loaded in the background by ScoreRepository and shows it in a
+ * RecyclerView, updating only the rows that change when new scores land.
  */
 public class HighScoreActivity extends AppCompatActivity {
 
     private RecyclerView highScoreRecyclerView;
     private MaterialButton backToMainButton;
-    private DatabaseHandler dbHandler;
+    private HighScoreAdapter adapter;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -35,13 +38,14 @@ public class HighScoreActivity extends AppCompatActivity {
         setContentView(R.layout.activity_high_score);
 
 
-        // Initialise database handler and UI components
-        dbHandler = new DatabaseHandler(this);
+        // Initialise UI components
         highScoreRecyclerView = findViewById(R.id.highScoreRecyclerView);
         backToMainButton = findViewById(R.id.backToMainButton);
 
         // Set up RecyclerView
+        adapter = new HighScoreAdapter();
         highScoreRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        highScoreRecyclerView.setAdapter(adapter);
         displayHighScores();
 
         // Set up button to return to main menu
@@ -55,23 +59,64 @@ public class HighScoreActivity extends AppCompatActivity {
     }
 
     /**
-     * Retrieves top scores from the database and displays them in the RecyclerView.
+     * Observes the leaderboard and submits every new snapshot to the adapter, which diffs it
+     * against the current list on a background thread.
      */
     private void displayHighScores() {
-        List<Score> highScores = dbHandler.getTopScores(10);
-        HighScoreAdapter adapter = new HighScoreAdapter(highScores);
-        highScoreRecyclerView.setAdapter(adapter);
+        ScoreRepository.getInstance(this).getLeaderboard().observe(this, new Observer<Leaderboard>() {
+            @Override
+            public void onChanged(Leaderboard leaderboard) {
+                List<Score> scores = leaderboard.getTopScores(GameRules.LEADERBOARD_SIZE);
+                List<HighScoreItem> items = new ArrayList<>(scores.size());
+                for (int i = 0; i < scores.size(); i++) {
+                    items.add(new HighScoreItem(i + 1, scores.get(i)));
+                }
+                adapter.submitList(items);
+            }
+        });
     }
 
     /**
-     * Custom RecyclerView Adapter for displaying high scores.
+     * One row of the high score table, with its text built once so binding does not allocate.
      */
-    private class HighScoreAdapter extends RecyclerView.Adapter<HighScoreAdapter.ViewHolder> {
+    private static final class HighScoreItem {
+        final String key;
+        final String name;
+        final String rankText;
+        final String scoreText;
+
+        HighScoreItem(int rank, Score score) {
+            // Rows read before they had a uid fall back to their database id
+            this.key = score.getUid() != null ? score.getUid() : "id:" + score.getId();
+            this.name = score.getName();
+            this.rankText = String.valueOf(rank);
+            this.scoreText = String.valueOf(score.getScore());
+        }
+    }
 
-        private List<Score> scores;
+    /**
+     * Rows are the same entry when they show the same stored score, even if a player has several
+     * equal scores; they only need rebinding if their rank moved.
+     */
+    private static final DiffUtil.ItemCallback<HighScoreItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<HighScoreItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull HighScoreItem oldItem, @NonNull HighScoreItem newItem) {
+            return oldItem.key.equals(newItem.key);
+        }
 
-        HighScoreAdapter(List<Score> scores) {
-            this.scores = scores;
+        @Override
+        public boolean areContentsTheSame(@NonNull HighScoreItem oldItem, @NonNull HighScoreItem newItem) {
+            return oldItem.rankText.equals(newItem.rankText);
+        }
+    };
+
+    /**
+     * Custom RecyclerView Adapter for displaying high scores.
+     */
+    private class HighScoreAdapter extends ListAdapter<HighScoreItem, HighScoreAdapter.ViewHolder> {
+
+        HighScoreAdapter() {
+            super(DIFF_CALLBACK);
         }
 
         @NonNull
@@ -83,15 +128,10 @@ public class HighScoreActivity extends AppCompatActivity {
 
         @Override
         public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            Score score = scores.get(position);
-            holder.rankTextView.setText(String.valueOf(position + 1));
-            holder.nameTextView.setText(score.getName());
-            holder.scoreTextView.setText(String.valueOf(score.getScore()));
-        }
-
-        @Override
-        public int getItemCount() {
-            return scores.size();
+            HighScoreItem item = getItem(position);
+            holder.rankTextView.setText(item.rankText);
+            holder.nameTextView.setText(item.name);
+            holder.scoreTextView.setText(item.scoreText);
         }
 
         /**
@@ -112,4 +152,3 @@ public class HighScoreActivity extends AppCompatActivity {
         }
     }
 }
-
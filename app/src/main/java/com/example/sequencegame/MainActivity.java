@@ -1,9 +1,11 @@
 package com.example.sequencegame;
 
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
+import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 
@@ -32,6 +34,18 @@ public class MainActivity extends AppCompatActivity {
                 startActivity(new Intent(MainActivity.this, HighScoreActivity.class));
             }
         });
+
+        // Long-press the title to open the metrics screen in debuggable builds
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            TextView titleTextView = findViewById(R.id.titleTextView);
+            titleTextView.setOnLongClickListener(new View.OnLongClickListener() {
+                @Override
+                public boolean onLongClick(View v) {
+                    startActivity(new Intent(MainActivity.this, MetricsActivity.class));
+                    return true;
+                }
+            });
+        }
     }
 }
 
@@ -0,0 +1,111 @@
+package com.example.sequencegame;
+
+import android.os.Bundle;
+import android.view.View;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.google.android.material.button.MaterialButton;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * MetricsActivity is a debug screen showing the latency histograms and counters in GameMetrics.
+ * The full report, including raw histogram buckets, and the GameTrace event buffer can be exported to files.
+ */
+public class MetricsActivity extends AppCompatActivity {
+
+    private TextView metricsTextView;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_metrics);
+
+        metricsTextView = findViewById(R.id.metricsTextView);
+        MaterialButton exportMetricsButton = findViewById(R.id.exportMetricsButton);
+        MaterialButton exportTraceButton = findViewById(R.id.exportTraceButton);
+        MaterialButton resetMetricsButton = findViewById(R.id.resetMetricsButton);
+
+        exportMetricsButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                exportMetrics();
+            }
+        });
+
+        exportTraceButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                exportTrace();
+            }
+        });
+
+        resetMetricsButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                GameMetrics.REGISTRY.reset();
+                displayMetrics();
+            }
+        });
+
+        displayMetrics();
+    }
+
+    /**
+     * Shows the current summary of all metrics.
+     */
+    private void displayMetrics() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        GameMetrics.REGISTRY.writeSummary(out);
+        out.flush();
+        metricsTextView.setText(text.toString());
+    }
+
+    /**
+     * Writes the full report to the app's external files directory.
+     */
+    private void exportMetrics() {
+        File dir = getExternalFilesDir(null);
+        if (dir == null) {
+            // Shared storage is not mounted
+            Toast.makeText(this, "Could not save metrics", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        File file = new File(dir, "metrics-" + System.currentTimeMillis() + ".txt");
+        try (PrintWriter out = new PrintWriter(file)) {
+            GameMetrics.REGISTRY.writeReport(out);
+            Toast.makeText(this, "Metrics saved to " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+        } catch (FileNotFoundException e) {
+            Toast.makeText(this, "Could not save metrics", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    /**
+     * Writes the recent game events as Chrome trace JSON, to open in ui.perfetto.dev or chrome://tracing.
+     */
+    private void exportTrace() {
+        File dir = getExternalFilesDir(null);
+        if (dir == null) {
+            Toast.makeText(this, "Could not save trace", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        File file = new File(dir, "trace-" + System.currentTimeMillis() + ".json");
+        try (Writer out = new BufferedWriter(new FileWriter(file))) {
+            GameTrace.RECORDER.writeChromeTrace(out);
+            Toast.makeText(this, "Trace saved to " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+        } catch (IOException e) {
+            Toast.makeText(this, "Could not save trace", Toast.LENGTH_SHORT).show();
+        }
+    }
+}
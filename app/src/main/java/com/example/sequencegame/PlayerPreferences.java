@@ -0,0 +1,51 @@
+package com.example.sequencegame;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.Locale;
+
+/**
+ * PlayerPreferences remembers the last player who submitted a score and the minimum input
+ * interval the adaptive lockout has learned for each player.
+ * Names are matched ignoring case, like the name suggestions. Before anyone has submitted a score
+ * the last player is the empty name, which holds the device's default interval.
+ */
+final class PlayerPreferences {
+
+    private static final String PREFERENCES_NAME = "players";
+    private static final String KEY_LAST_PLAYER = "lastPlayer";
+    private static final String KEY_MIN_INPUT_INTERVAL = "minInputInterval:";
+
+    private PlayerPreferences() {
+    }
+
+    private static SharedPreferences get(Context context) {
+        return context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Returns the name of the last player who submitted a score, or an empty string if there is none.
+     */
+    static String getLastPlayer(Context context) {
+        return get(context).getString(KEY_LAST_PLAYER, "");
+    }
+
+    static void setLastPlayer(Context context, String name) {
+        get(context).edit().putString(KEY_LAST_PLAYER, name).apply();
+    }
+
+    /**
+     * Returns the minimum input interval learned for a player, or the default for new players.
+     * @param name The player's name, or an empty string for the device default.
+     * @return The interval in nanoseconds.
+     */
+    static long getMinInputInterval(Context context, String name) {
+        return get(context).getLong(KEY_MIN_INPUT_INTERVAL + name.toLowerCase(Locale.ROOT),
+                AdaptiveLockout.DEFAULT_INTERVAL_NANOS);
+    }
+
+    static void setMinInputInterval(Context context, String name, long intervalNanos) {
+        get(context).edit().putLong(KEY_MIN_INPUT_INTERVAL + name.toLowerCase(Locale.ROOT), intervalNanos).apply();
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.sequencegame;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.sequencegame.sync.LeaderboardSync;
+import com.example.sequencegame.sync.LeaderboardTransport;
+import com.example.sequencegame.sync.SyncRecord;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ScoreRepository runs all score database work on a single background thread and keeps the
+ * current top scores in memory as a Leaderboard snapshot, so screens never wait on SQLite.
+ * Work runs in submission order, so a read queued after a write always sees it.
+ * Results are delivered on the main thread, and every new snapshot is published to getLeaderboard().
+ * When a LeaderboardTransport is set, new scores are uploaded and other players' scores merged in
+ * on the same thread. The player name index is built on a second thread of its own, so the
+ * full name scan never delays a rank, high score check or score submission queued behind it.
+ */
+public class ScoreRepository {
+
+    /**
+     * Receives the result of a background operation on the main thread.
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    private static final String TAG = "ScoreRepository";
+
+    private static ScoreRepository instance;
+
+    private final DatabaseHandler dbHandler;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService namesExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final MutableLiveData<Leaderboard> leaderboardData = new MutableLiveData<>();
+
+    // Replaced, never modified, once published; only the executor thread writes it
+    private volatile Leaderboard leaderboard;
+    // Published empty by the names thread before it reads the names, then kept up to date by the
+    // executor thread, so a name written during the scan is either read by it or added directly
+    private volatile NameTrie playerNames;
+    // Null until a transport is set, in which case scores stay local
+    private volatile LeaderboardSync leaderboardSync;
+
+    private ScoreRepository(Context context) {
+        dbHandler = new DatabaseHandler(context);
+    }
+
+    public static synchronized ScoreRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new ScoreRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the in-memory leaderboard, or null if it has not been loaded yet.
+     */
+    public Leaderboard getCachedLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Returns the leaderboard as observable data, loading it in the background if needed.
+     * Observers get the current snapshot and then every update, such as a newly added score.
+     */
+    public LiveData<Leaderboard> getLeaderboard() {
+        if (leaderboard == null) {
+            prefetchLeaderboard();
+        }
+        sync();
+        return leaderboardData;
+    }
+
+    /**
+     * Sets the endpoint scores are synced with, or null to stop syncing.
+     * Scores added while no transport is set stay in the outbox and are uploaded by the next sync.
+     */
+    public void setTransport(LeaderboardTransport transport) {
+        leaderboardSync = transport != null ? new LeaderboardSync(dbHandler, transport) : null;
+    }
+
+    /**
+     * Uploads queued scores and merges new scores from the server in the background.
+     * Does nothing if no transport is set.
+     */
+    public void sync() {
+        if (leaderboardSync == null) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                runSync();
+            }
+        });
+    }
+
+    /**
+     * Runs one sync and publishes a new snapshot if any downloaded score made the leaderboard.
+     * Only called on the executor thread. A failed sync is retried the next time sync() is called.
+     */
+    private void runSync() {
+        LeaderboardSync sync = leaderboardSync;
+        if (sync == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<SyncRecord> merged;
+        try {
+            merged = sync.sync();
+        } catch (IOException e) {
+            GameMetrics.SYNC_FAILURES.incrementAndGet();
+            Log.w(TAG, "Leaderboard sync failed", e);
+            return;
+        }
+        GameMetrics.LEADERBOARD_SYNC.record(System.nanoTime() - start);
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        Leaderboard current = loadLeaderboard();
+        Leaderboard updated = Leaderboard.of(current.getTopScores(current.getCapacity()), current.getCapacity());
+        boolean changed = false;
+        NameTrie names = playerNames;
+        for (SyncRecord record : merged) {
+            Score score = new Score(record.getName(), record.getScore());
+            score.setUid(record.getUid());
+            changed |= updated.offer(score);
+            if (names != null) {
+                names.add(record.getName());
+            }
+        }
+        if (changed) {
+            publish(updated);
+        }
+    }
+
+    /**
+     * Replaces the leaderboard snapshot and notifies observers. Only called on the executor thread.
+     */
+    private void publish(Leaderboard updated) {
+        leaderboard = updated;
+        leaderboardData.postValue(updated);
+    }
+
+    /**
+     * Loads the leaderboard in the background if it is not in memory yet.
+     * Called while a game is running so the game over screen can answer without a query.
+     */
+    public void prefetchLeaderboard() {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                loadLeaderboard();
+            }
+        });
+    }
+
+    private Leaderboard loadLeaderboard() {
+        if (leaderboard == null) {
+            publish(Leaderboard.of(dbHandler.getTopScores(GameRules.LEADERBOARD_SIZE), GameRules.LEADERBOARD_SIZE));
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Builds the player name index in the background if it is not in memory yet.
+     */
+    public void prefetchPlayerNames() {
+        namesExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (playerNames == null) {
+                    NameTrie names = new NameTrie();
+                    playerNames = names;
+                    for (String name : dbHandler.getDistinctNames()) {
+                        names.add(name);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns known player names starting with the given prefix, ignoring case.
+     * Safe to call from any thread; returns nothing or only some names until prefetchPlayerNames has finished.
+     * @param prefix The text typed so far.
+     * @param limit The maximum number of names to return.
+     */
+    public List<String> suggestPlayerNames(String prefix, int limit) {
+        NameTrie names = playerNames;
+        return names != null ? names.complete(prefix, limit) : Collections.<String>emptyList();
+    }
+
+    /**
+     * Checks in the background if a score qualifies as a high score.
+     */
+    public void isHighScore(final int score, final Callback<Boolean> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, loadLeaderboard().isHighScore(score));
+            }
+        });
+    }
+
+    /**
+     * Computes in the background the rank a score takes among all stored scores, where 1 is the best.
+     */
+    public void getRank(final int score, final Callback<Integer> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, dbHandler.getRank(score));
+            }
+        });
+    }
+
+    /**
+     * Adds a score in the background. The updated leaderboard is published and delivered
+     * before the row is written, so the caller can move on without waiting for the disk.
+     * @param score The score to add.
+     * @param callback Receives the leaderboard including the new score; may be null.
+     */
+    public void addScore(final Score score, final Callback<Leaderboard> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                // The uid is assigned before publishing so the row keeps its identity once it is written
+                if (score.getUid() == null) {
+                    score.setUid(UUID.randomUUID().toString());
+                }
+                Leaderboard current = loadLeaderboard();
+                Leaderboard updated = Leaderboard.of(current.getTopScores(current.getCapacity()), current.getCapacity());
+                updated.offer(score);
+                publish(updated);
+                if (callback != null) {
+                    deliver(callback, updated);
+                }
+                dbHandler.addScore(score);
+                NameTrie names = playerNames;
+                if (names != null) {
+                    names.add(score.getName());
+                }
+                runSync();
+            }
+        });
+    }
+
+    private <T> void deliver(final Callback<T> callback, final T result) {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                callback.onResult(result);
+            }
+        });
+    }
+}
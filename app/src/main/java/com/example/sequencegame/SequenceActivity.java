@@ -8,53 +8,52 @@ import android.hardware.SensorEventListener;
 import android.hardware.SensorManager;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
 import android.view.Display;
-import android.view.Surface;
 import android.view.WindowManager;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.google.android.material.button.MaterialButton;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-
 /**
  * SequenceActivity is the main game screen where the sequence game is played.
- * It handles sequence generation, display, user input using device tilt, and game logic.
+ * It handles sequence display and user input using device tilt; the game state itself lives in
+ * GameViewModel so that it survives configuration changes such as rotation.
  */
 public class SequenceActivity extends AppCompatActivity implements SensorEventListener {
 
-    private List<Integer> sequence;
+    private GameViewModel viewModel;
     private MaterialButton[] buttons;
     private TextView debugTextView;
     private TextView scoreTextView;
-    private int sequenceLength = 4;
-    private int currentScore = 0;
-    private int playerStep = 0;
-    private boolean isDisplaying = true;
-    private boolean canAcceptInput = false;
+
+    // All delayed work is posted here so it can be cancelled when the Activity is destroyed
+    private final Handler handler = new Handler(Looper.getMainLooper());
 
     private SensorManager sensorManager;
     private Sensor accelerometer;
     private Display display;
 
-    private static final int LEFT = 0;
-    private static final int TOP = 1;
-    private static final int RIGHT = 2;
-    private static final int BOTTOM = 3;
+    private static final int LEFT = TiltClassifier.LEFT;
+    private static final int TOP = TiltClassifier.TOP;
+    private static final int RIGHT = TiltClassifier.RIGHT;
+    private static final int BOTTOM = TiltClassifier.BOTTOM;
 
-    private static final long SEQUENCE_DISPLAY_DELAY = 1000; // 1 second between each button flash
-    private static final long PLAYER_START_DELAY = 3000; // 3 seconds before player can start
-    private static final long INPUT_DELAY = 500; // 0.5 seconds between inputs
-    private static final long DIRECTION_CHANGE_DELAY = 1000; // 1 second to allow direction change
+    private static final long SEQUENCE_DISPLAY_DELAY = GameRules.SEQUENCE_DISPLAY_DELAY;
+    private static final long PLAYER_START_DELAY = GameRules.PLAYER_START_DELAY;
+    private static final long DIRECTION_CHANGE_DELAY = GameRules.DIRECTION_CHANGE_DELAY;
 
-    private long lastInputTime = 0;
-    private float[] initialPosition;
-    private boolean isCalibrated = false;
+    private long pendingSensorTimestamp;
+    private long pendingInputNanos;
+    // A tilt is a run of samples classified to the same direction; ignored inputs are counted and traced once per tilt
+    private int tiltDirection = TiltClassifier.NONE;
+    private boolean tiltCounted;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -79,13 +78,26 @@ public class SequenceActivity extends AppCompatActivity implements SensorEventLi
         WindowManager windowManager = (WindowManager) getSystemService(WINDOW_SERVICE);
         display = windowManager.getDefaultDisplay();
 
-        // Get initial sequence length and score from intent
-        sequenceLength = getIntent().getIntExtra("sequenceLength", 4);
-        currentScore = getIntent().getIntExtra("score", 0);
+        // The initial sequence length and score are read from the intent extras by the ViewModel
+        viewModel = new ViewModelProvider(this).get(GameViewModel.class);
         updateScoreDisplay();
 
-        generateSequence();
-        calibrateInitialPosition();
+        // Start from the input interval learned for whoever last submitted a score
+        if (viewModel.getLockout() == null) {
+            String playerName = PlayerPreferences.getLastPlayer(this);
+            AdaptiveLockout lockout = new AdaptiveLockout(PlayerPreferences.getMinInputInterval(this, playerName));
+            viewModel.setLockout(lockout);
+            if (viewModel.getPhase() == GameViewModel.PHASE_AWAITING_INPUT) {
+                // Restored mid-turn after process death: the tilt may still be held, so wait for neutral
+                viewModel.startTurn(SystemClock.elapsedRealtimeNanos());
+                lockout.requireNeutral();
+            }
+        }
+
+        // Load the leaderboard while the game runs so the game over screen needs no query
+        ScoreRepository.getInstance(this).prefetchLeaderboard();
+
+        resumeGame();
     }
 
     @Override
@@ -100,63 +112,109 @@ public class SequenceActivity extends AppCompatActivity implements SensorEventLi
         sensorManager.unregisterListener(this);
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // Drop pending callbacks so they never run against a destroyed instance
+        handler.removeCallbacksAndMessages(null);
+        Choreographer.getInstance().removeFrameCallback(firstFrameCallback);
+    }
+
+    /**
+     * Continues the game from the phase stored in the ViewModel.
+     * On first launch this starts calibration; after recreation it picks up mid-round.
+     */
+    private void resumeGame() {
+        switch (viewModel.getPhase()) {
+            case GameViewModel.PHASE_CALIBRATING:
+                calibrateInitialPosition();
+                break;
+            case GameViewModel.PHASE_DISPLAYING:
+                displaySequence();
+                break;
+            case GameViewModel.PHASE_AWAITING_INPUT:
+                // Input is gated by the phase alone. The lockout lives in the ViewModel, so a tilt
+                // held through rotation is not accepted again
+                break;
+            case GameViewModel.PHASE_ROUND_COMPLETE:
+                handler.postDelayed(nextRoundRunnable, DIRECTION_CHANGE_DELAY);
+                break;
+            case GameViewModel.PHASE_GAME_OVER:
+                gameOver();
+                break;
+        }
+    }
+
     /**
      * Calibrates the initial position of the device for accurate tilt detection.
      */
     private void calibrateInitialPosition() {
         Toast.makeText(this, "Hold the device in your preferred position", Toast.LENGTH_LONG).show();
-        new Handler().postDelayed(new Runnable() {
+        handler.postDelayed(new Runnable() {
             @Override
             public void run() {
-                isCalibrated = true;
+                viewModel.finishCalibration();
                 Toast.makeText(SequenceActivity.this, "Calibration complete. Get ready!", Toast.LENGTH_SHORT).show();
-                new Handler().postDelayed(new Runnable() {
-                    @Override
-                    public void run() {
-                        displaySequence();
-                    }
-                }, 2000);
+                handler.postDelayed(playbackRunnable, GameRules.GET_READY_DELAY);
             }
-        }, 3000);
+        }, GameRules.CALIBRATION_DELAY);
     }
 
     /**
-     * Generates a random sequence of colors for the game.
+     * Displays the sequence to the player, continuing from the last shown element.
      */
-    private void generateSequence() {
-        sequence = new ArrayList<>();
-        Random random = new Random();
-        for (int i = 0; i < sequenceLength; i++) {
-            sequence.add(random.nextInt(4));
+    private void displaySequence() {
+        if (viewModel.getDisplayIndex() < viewModel.getSequenceLength()) {
+            handler.post(playbackRunnable);
+        } else {
+            handler.postDelayed(startInputRunnable, PLAYER_START_DELAY);
         }
     }
 
     /**
-     * Displays the generated sequence to the player.
+     * Flashes one element of the sequence and schedules the next one, so only a single
+     * playback callback is pending at any time. Each element is read only when it is shown,
+     * which means it is produced from the stream right then.
      */
-    private void displaySequence() {
-        isDisplaying = true;
-        canAcceptInput = false;
-        for (int i = 0; i < sequence.size(); i++) {
-            final int index = i;
-            new Handler().postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    flashButton(sequence.get(index));
-                    if (index == sequence.size() - 1) {
-                        new Handler().postDelayed(new Runnable() {
-                            @Override
-                            public void run() {
-                                isDisplaying = false;
-                                canAcceptInput = true;
-                                Toast.makeText(SequenceActivity.this, "Your turn! Tilt the device.", Toast.LENGTH_LONG).show();
-                            }
-                        }, PLAYER_START_DELAY);
-                    }
-                }
-            }, SEQUENCE_DISPLAY_DELAY * i);
+    private final Runnable playbackRunnable = new Runnable() {
+        @Override
+        public void run() {
+            int index = viewModel.getDisplayIndex();
+            int element = viewModel.getSequenceElement(index);
+            GameTrace.instant(GameTrace.PLAYBACK_FLASH, element);
+            flashButton(element);
+            viewModel.setDisplayIndex(index + 1);
+            if (index + 1 < viewModel.getSequenceLength()) {
+                handler.postDelayed(this, SEQUENCE_DISPLAY_DELAY);
+            } else {
+                handler.postDelayed(startInputRunnable, PLAYER_START_DELAY);
+            }
         }
-    }
+    };
+
+    private final Runnable startInputRunnable = new Runnable() {
+        @Override
+        public void run() {
+            viewModel.setPhase(GameViewModel.PHASE_AWAITING_INPUT);
+            viewModel.startTurn(SystemClock.elapsedRealtimeNanos());
+            Toast.makeText(SequenceActivity.this, "Your turn! Tilt the device.", Toast.LENGTH_LONG).show();
+        }
+    };
+
+    private final Runnable nextRoundRunnable = new Runnable() {
+        @Override
+        public void run() {
+            Toast.makeText(SequenceActivity.this, "Correct! Next sequence.", Toast.LENGTH_SHORT).show();
+            nextRound();
+        }
+    };
+
+    private final Runnable gameOverRunnable = new Runnable() {
+        @Override
+        public void run() {
+            gameOver();
+        }
+    };
 
     /**
      * Flashes a button to indicate it as part of the sequence.
@@ -182,32 +240,107 @@ public class SequenceActivity extends AppCompatActivity implements SensorEventLi
     @Override
     public void onSensorChanged(SensorEvent event) {
         if (event.sensor.getType() == Sensor.TYPE_ACCELEROMETER) {
-            if (!isCalibrated) {
-                initialPosition = event.values.clone();
+            float[] initialPosition = viewModel.getInitialPosition();
+            if (viewModel.getPhase() == GameViewModel.PHASE_CALIBRATING) {
+                System.arraycopy(event.values, 0, initialPosition, 0, initialPosition.length);
                 return;
             }
 
-            if (canAcceptInput) {
-                long currentTime = System.currentTimeMillis();
-                if (currentTime - lastInputTime < INPUT_DELAY) {
-                    return; // Ignore input if it's too soon after the last input
-                }
+            float x = event.values[0] - initialPosition[0];
+            float y = event.values[1] - initialPosition[1];
+            float z = event.values[2] - initialPosition[2];
 
-                float x = event.values[0] - initialPosition[0];
-                float y = event.values[1] - initialPosition[1];
-                float z = event.values[2] - initialPosition[2];
+            // Classify and trace in every phase, so tilts made outside the player's turn show up in the trace
+            int direction = getDirection(x, y, z);
+            GameMetrics.SENSOR_TO_CLASSIFIED.record(SystemClock.elapsedRealtimeNanos() - event.timestamp);
+            GameTrace.instant(GameTrace.SENSOR_CLASSIFIED, direction);
+            if (direction != -1) {
+                GameTrace.instant(GameTrace.DIRECTION_EMITTED, direction);
+            }
+            if (direction != tiltDirection) {
+                tiltDirection = direction;
+                tiltCounted = false;
+            }
 
-                int direction = getDirection(x, y, z);
+            if (viewModel.getPhase() != GameViewModel.PHASE_AWAITING_INPUT) {
+                // During playback, the start delay or a round transition
                 if (direction != -1) {
-                    lastInputTime = currentTime;
-                    checkInput(direction);
+                    if (!tiltCounted) {
+                        tiltCounted = true;
+                        GameMetrics.IGNORED_INPUT_DISABLED.incrementAndGet();
+                        GameTrace.instant(GameTrace.INPUT_REJECTED, GameTrace.REJECTED_INPUT_DISABLED);
+                    }
                 }
+                return;
+            }
+
+            AdaptiveLockout lockout = viewModel.getLockout();
+            if (isNeutral(x, y, z)) {
+                lockout.onNeutral(event.timestamp);
+            }
 
-                // Debug information
-                String debugInfo = String.format("X: %.2f, Y: %.2f, Z: %.2f, Dir: %s", x, y, z, directionToString(direction));
-                debugTextView.setText(debugInfo);
+            if (direction != -1) {
+                // Ignore the input until the device has been back at neutral and the player's interval has
+                // passed, and ignore rebounds into the opposite side
+                if (!lockout.tryAccept(direction, event.timestamp)) {
+                    // The rest of an accepted tilt is not an ignored input
+                    if (!tiltCounted) {
+                        tiltCounted = true;
+                        if (!lockout.isArmed()) {
+                            GameMetrics.IGNORED_INPUT_NOT_NEUTRAL.incrementAndGet();
+                            GameTrace.instant(GameTrace.INPUT_REJECTED, GameTrace.REJECTED_NOT_NEUTRAL);
+                        } else {
+                            GameMetrics.IGNORED_INPUT_DELAY.incrementAndGet();
+                            GameTrace.instant(GameTrace.INPUT_REJECTED, GameTrace.REJECTED_INPUT_DELAY);
+                        }
+                    }
+                    return;
+                }
+                tiltCounted = true;
+                viewModel.recordInput(event.timestamp);
+                GameMetrics.INPUTS_ACCEPTED.incrementAndGet();
+                GameTrace.instant(GameTrace.INPUT_ACCEPTED, direction);
+                long checkStart = System.nanoTime();
+                GameTrace.begin(GameTrace.CHECK_INPUT, direction);
+                checkInput(direction);
+                GameTrace.end(GameTrace.CHECK_INPUT, direction);
+                GameMetrics.CHECK_INPUT.record(System.nanoTime() - checkStart);
+                awaitFirstFrame(event.timestamp, checkStart);
             }
+
+            // Debug information
+            String debugInfo = String.format("X: %.2f, Y: %.2f, Z: %.2f, Dir: %s", x, y, z, directionToString(direction));
+            debugTextView.setText(debugInfo);
+        }
+    }
+
+    /**
+     * Records how long it takes from an accepted tilt until the next frame starts drawing its feedback.
+     * @param sensorTimestamp The SensorEvent timestamp, on the elapsedRealtimeNanos clock.
+     * @param inputNanos When checkInput started, on the System.nanoTime clock.
+     */
+    private void awaitFirstFrame(long sensorTimestamp, long inputNanos) {
+        pendingSensorTimestamp = sensorTimestamp;
+        pendingInputNanos = inputNanos;
+        Choreographer.getInstance().removeFrameCallback(firstFrameCallback);
+        Choreographer.getInstance().postFrameCallback(firstFrameCallback);
+    }
+
+    private final Choreographer.FrameCallback firstFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            GameMetrics.INPUT_TO_FRAME.record(System.nanoTime() - pendingInputNanos);
+            GameMetrics.SENSOR_TO_FRAME.record(SystemClock.elapsedRealtimeNanos() - pendingSensorTimestamp);
         }
+    };
+
+    /**
+     * Checks if the device is back near the calibrated neutral pose. The neutral band is narrower
+     * than the direction threshold, so a reading hovering at the threshold cannot re-arm the lockout.
+     */
+    private boolean isNeutral(float x, float y, float z) {
+        return TiltClassifier.getDirection(x, y, z, display.getRotation(),
+                TiltClassifier.DEFAULT_THRESHOLD * AdaptiveLockout.NEUTRAL_FRACTION) == TiltClassifier.NONE;
     }
 
     @Override
@@ -223,37 +356,7 @@ public class SequenceActivity extends AppCompatActivity implements SensorEventLi
      * @return The detected direction (LEFT, TOP, RIGHT, BOTTOM) or -1 if no direction is detected
      */
     private int getDirection(float x, float y, float z) {
-        float threshold = 2.5f; // Reduced threshold for more sensitivity
-
-        int rotation = display.getRotation();
-        switch (rotation) {
-            case Surface.ROTATION_0:
-                if (Math.abs(x) > Math.abs(y)) {
-                    return x > threshold ? LEFT : x < -threshold ? RIGHT : -1;
-                } else {
-                    return y > threshold ? TOP : y < -threshold ? BOTTOM : -1;
-                }
-            case Surface.ROTATION_90:
-                if (Math.abs(y) > Math.abs(x)) {
-                    return y > threshold ? RIGHT : y < -threshold ? LEFT : -1;
-                } else {
-                    return x < -threshold ? TOP : x > threshold ? BOTTOM : -1;
-                }
-            case Surface.ROTATION_180:
-                if (Math.abs(x) > Math.abs(y)) {
-                    return x > threshold ? RIGHT : x < -threshold ? LEFT : -1;
-                } else {
-                    return y < -threshold ? TOP : y > threshold ? BOTTOM : -1;
-                }
-            case Surface.ROTATION_270:
-                if (Math.abs(y) > Math.abs(x)) {
-                    return y < -threshold ? RIGHT : y > threshold ? LEFT : -1;
-                } else {
-                    return x > threshold ? TOP : x < -threshold ? BOTTOM : -1;
-                }
-            default:
-                return -1;
-        }
+        return TiltClassifier.getDirection(x, y, z, display.getRotation(), TiltClassifier.DEFAULT_THRESHOLD);
     }
 
     private String directionToString(int direction) {
@@ -285,62 +388,53 @@ public class SequenceActivity extends AppCompatActivity implements SensorEventLi
 //        String color = directionToColor(direction);
 //        Toast.makeText(this, "Tilted: " + directionName + " (" + color + ")", Toast.LENGTH_SHORT).show();
 
-        if (direction == sequence.get(playerStep)) {
+        // A finished round or a wrong input leaves the input phase, which stops further input;
+        // within a round the adaptive lockout spaces inputs
+        int result = viewModel.checkInput(direction);
+        if (result != SequenceEngine.RESULT_WRONG) {
             flashButton(direction);
-            currentScore++; // Increment score for each correct guess
             updateScoreDisplay();
-            playerStep++;
-            if (playerStep == sequence.size()) {
-                new Handler().postDelayed(new Runnable() {
-                    @Override
-                    public void run() {
-                        Toast.makeText(SequenceActivity.this, "Correct! Next sequence.", Toast.LENGTH_SHORT).show();
-                        nextRound();
-                    }
-                }, DIRECTION_CHANGE_DELAY);
+            if (result == SequenceEngine.RESULT_ROUND_COMPLETE) {
+                handler.postDelayed(nextRoundRunnable, DIRECTION_CHANGE_DELAY);
             }
         } else {
-            new Handler().postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    gameOver();
-                }
-            }, DIRECTION_CHANGE_DELAY);
+            handler.postDelayed(gameOverRunnable, DIRECTION_CHANGE_DELAY);
         }
-
-        // Disable input temporarily to allow for direction change
-        canAcceptInput = false;
-        new Handler().postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                canAcceptInput = true;
-            }
-        }, DIRECTION_CHANGE_DELAY);
     }
 
     /**
      * Updates the score display on the screen.
      */
     private void updateScoreDisplay() {
-        scoreTextView.setText("Score: " + currentScore);
+        scoreTextView.setText("Score: " + viewModel.getCurrentScore());
     }
 
     /**
      * Starts the next round by increasing sequence length and generating a new sequence.
      */
     private void nextRound() {
-        sequenceLength += 2;
-        playerStep = 0;
-        generateSequence();
+        viewModel.nextRound();
+        GameTrace.instant(GameTrace.ROUND_TRANSITION, viewModel.getSequenceLength());
         displaySequence();
     }
 
     /**
      * Ends the game and transitions to the GameOverActivity.
+     * The learned input interval is stored for the player the game started from, the last player
+     * or the device default, whether or not a score is submitted. It is also handed on, so a score
+     * submitted under another name stores it for that player too.
      */
     private void gameOver() {
+        GameTrace.instant(GameTrace.GAME_OVER, viewModel.getCurrentScore());
+        long minInputInterval = viewModel.getLockout().getMinIntervalNanos();
+        PlayerPreferences.setMinInputInterval(this, PlayerPreferences.getLastPlayer(this), minInputInterval);
+        if (viewModel.getMeanInputNanos() > 0) {
+            GameMetrics.GAME_INPUT_INTERVAL.record(viewModel.getMeanInputNanos());
+        }
         Intent intent = new Intent(this, GameOverActivity.class);
-        intent.putExtra("score", currentScore);
+        intent.putExtra("score", viewModel.getCurrentScore());
+        intent.putExtra("inputsPerSecond", viewModel.getInputsPerSecond());
+        intent.putExtra("minInputInterval", minInputInterval);
         startActivity(intent);
         finish();
     }
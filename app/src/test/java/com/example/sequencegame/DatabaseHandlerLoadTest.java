@@ -0,0 +1,167 @@
+package com.example.sequencegame;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Load test for DatabaseHandler against a large synthetic leaderboard.
+ * The query plan check always runs. The load test itself only runs with -Dleaderboard.loadTest=true,
+ * sized by the leaderboard.rows and leaderboard.seed system properties, and prints the measured
+ * throughput and latencies so persistence changes can ship with numbers.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DatabaseHandlerLoadTest {
+
+    private static final String DATABASE_NAME = "sequenceGameDB";
+    private static final int ADD_SCORE_SAMPLES = 2000;
+    private static final int QUERY_SAMPLES = 1000;
+
+    private Context context;
+    private DatabaseHandler dbHandler;
+    private Random random;
+    private int rows;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        context.deleteDatabase(DATABASE_NAME);
+        dbHandler = new DatabaseHandler(context);
+        random = new Random(Long.getLong("leaderboard.seed", 42));
+        rows = Integer.getInteger("leaderboard.rows", 100000);
+    }
+
+    @After
+    public void tearDown() {
+        dbHandler.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void queryPlans_useScoreIndex() {
+        assertPlansUseScoreIndex();
+    }
+
+    /**
+     * Checks the queries exactly as DatabaseHandler runs them.
+     */
+    private void assertPlansUseScoreIndex() {
+        assertUsesIndex(DatabaseHandler.topScoresQuery(GameRules.LEADERBOARD_SIZE), "idx_scores_score");
+        assertUsesIndex(DatabaseHandler.highScoreThresholdQuery(), "idx_scores_score");
+        assertUsesIndex(DatabaseHandler.rankQuery(50), "idx_scores_score");
+        assertUsesIndex(DatabaseHandler.DISTINCT_NAMES_QUERY, "idx_scores_name");
+    }
+
+    @Test
+    public void largeLeaderboard_insertAndQueryLatency() {
+        Assume.assumeTrue("Run with -Dleaderboard.loadTest=true", Boolean.getBoolean("leaderboard.loadTest"));
+        long start = System.nanoTime();
+        int bulkRows = Math.max(0, rows - ADD_SCORE_SAMPLES);
+        bulkInsert(bulkRows);
+        long bulkNanos = System.nanoTime() - start;
+
+        // addScore opens, inserts and closes per call, so it is measured on its own
+        long[] addScoreNanos = new long[ADD_SCORE_SAMPLES];
+        for (int i = 0; i < ADD_SCORE_SAMPLES; i++) {
+            long callStart = System.nanoTime();
+            dbHandler.addScore(new Score(randomName(), randomScore()));
+            addScoreNanos[i] = System.nanoTime() - callStart;
+        }
+
+        long[] topScoresNanos = new long[QUERY_SAMPLES];
+        long[] isHighScoreNanos = new long[QUERY_SAMPLES];
+        long[] getRankNanos = new long[QUERY_SAMPLES];
+        for (int i = 0; i < QUERY_SAMPLES; i++) {
+            long callStart = System.nanoTime();
+            assertEquals(GameRules.LEADERBOARD_SIZE, dbHandler.getTopScores(GameRules.LEADERBOARD_SIZE).size());
+            topScoresNanos[i] = System.nanoTime() - callStart;
+
+            int probe = randomScore();
+            callStart = System.nanoTime();
+            dbHandler.isHighScore(probe);
+            isHighScoreNanos[i] = System.nanoTime() - callStart;
+
+            callStart = System.nanoTime();
+            dbHandler.getRank(probe);
+            getRankNanos[i] = System.nanoTime() - callStart;
+        }
+
+        System.out.println("DatabaseHandlerLoadTest rows=" + rows);
+        System.out.println(String.format("  bulk insert  %.0f rows/s", bulkRows / (bulkNanos / 1e9)));
+        report("addScore", addScoreNanos);
+        report("getTopScores", topScoresNanos);
+        report("isHighScore", isHighScoreNanos);
+        report("getRank", getRankNanos);
+
+        // Plans can change with table statistics, so check them again at full size
+        assertPlansUseScoreIndex();
+    }
+
+    /**
+     * Fills the table in one transaction with a compiled statement, the fastest way to reach
+     * millions of rows before measuring.
+     */
+    private void bulkInsert(int count) {
+        SQLiteDatabase db = dbHandler.getWritableDatabase();
+        SQLiteStatement insert = db.compileStatement("INSERT INTO scores (name, score) VALUES (?, ?)");
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < count; i++) {
+                insert.bindString(1, randomName());
+                insert.bindLong(2, randomScore());
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+
+    private String randomName() {
+        return "player" + random.nextInt(Math.max(1, rows / 10));
+    }
+
+    /**
+     * Scores cluster low like real games, with a long tail of strong runs.
+     */
+    private int randomScore() {
+        return (int) (Math.abs(random.nextGaussian()) * 30);
+    }
+
+    private void assertUsesIndex(String query, String index) {
+        SQLiteDatabase db = dbHandler.getReadableDatabase();
+        Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + query, null);
+        StringBuilder plan = new StringBuilder();
+        int detail = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detail)).append('\n');
+        }
+        cursor.close();
+
+        String text = plan.toString();
+        assertTrue("Expected an index in the plan for " + query + ":\n" + text, text.contains("INDEX " + index));
+        assertFalse("Unexpected sort in the plan for " + query + ":\n" + text, text.contains("TEMP B-TREE"));
+    }
+
+    private static void report(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.println(String.format("  %-13s p50 %.3f ms  p99 %.3f ms", name,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.sequencegame.benchmark;
+
+import com.example.sequencegame.NameTrie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures autocomplete lookups and index building for the player-name trie.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameTrieBenchmark {
+
+    private static final int SUGGESTIONS = 5;
+
+    @Param({"1000", "100000"})
+    public int names;
+
+    @Param({"1", "3"})
+    public int prefixLength;
+
+    private String[] nameList;
+    private String[] prefixes;
+    private NameTrie trie;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        nameList = new String[names];
+        trie = new NameTrie();
+        for (int i = 0; i < names; i++) {
+            nameList[i] = randomName(random);
+            trie.add(nameList[i]);
+        }
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = nameList[random.nextInt(names)];
+            prefixes[i] = name.substring(0, Math.min(prefixLength, name.length()));
+        }
+    }
+
+    private static String randomName(Random random) {
+        int length = 3 + random.nextInt(8);
+        StringBuilder name = new StringBuilder(length);
+        name.append((char) ('A' + random.nextInt(26)));
+        for (int i = 1; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(26)));
+        }
+        return name.toString();
+    }
+
+    @Benchmark
+    public List<String> complete() {
+        next = (next + 1) & (prefixes.length - 1);
+        return trie.complete(prefixes[next], SUGGESTIONS);
+    }
+
+    @Benchmark
+    public NameTrie build() {
+        NameTrie built = new NameTrie();
+        for (String name : nameList) {
+            built.add(name);
+        }
+        return built;
+    }
+}
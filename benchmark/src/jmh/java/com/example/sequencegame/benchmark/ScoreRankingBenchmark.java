@@ -0,0 +1,91 @@
+package com.example.sequencegame.benchmark;
+
+import com.example.sequencegame.GameRules;
+import com.example.sequencegame.Leaderboard;
+import com.example.sequencegame.Score;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory Leaderboard that ScoreRepository answers high score and top score
+ * questions from. The SQLite queries behind it are measured by DatabaseHandlerLoadTest in the app.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoreRankingBenchmark {
+
+    /**
+     * The stored scores a leaderboard is built from. Only building depends on how many there are,
+     * so the lookups below do not repeat for every row count.
+     */
+    @State(Scope.Thread)
+    public static class StoredScores {
+
+        @Param({"100", "10000", "1000000"})
+        public int rows;
+
+        private List<Score> scoreList;
+
+        @Setup
+        public void setUp() {
+            scoreList = generateScores(rows);
+        }
+    }
+
+    private static final int BOARD_ROWS = 1000;
+
+    private Leaderboard leaderboard;
+    private int probe;
+    private int nextScore;
+
+    @Setup
+    public void setUp() {
+        leaderboard = Leaderboard.of(generateScores(BOARD_ROWS), GameRules.LEADERBOARD_SIZE);
+        probe = leaderboard.getTopScores(GameRules.LEADERBOARD_SIZE).get(leaderboard.size() - 1).getScore();
+    }
+
+    private static List<Score> generateScores(int rows) {
+        Random random = new Random(1);
+        List<Score> scoreList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            // Scores cluster low like real games, with a long tail of strong runs
+            int score = (int) (Math.abs(random.nextGaussian()) * 30);
+            scoreList.add(new Score(i, "player" + (i % 1000), score));
+        }
+        return scoreList;
+    }
+
+    @Benchmark
+    public boolean isHighScoreLeaderboard() {
+        return leaderboard.isHighScore(probe);
+    }
+
+    @Benchmark
+    public List<Score> topScoresLeaderboard() {
+        return leaderboard.getTopScores(GameRules.LEADERBOARD_SIZE);
+    }
+
+    @Benchmark
+    public boolean offerLeaderboard() {
+        nextScore = (nextScore + 7) % 120;
+        return leaderboard.offer(new Score("bench", nextScore));
+    }
+
+    @Benchmark
+    public Leaderboard buildLeaderboard(StoredScores stored) {
+        return Leaderboard.of(stored.scoreList, GameRules.LEADERBOARD_SIZE);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.sequencegame.benchmark;
+
+import com.example.sequencegame.SequenceEngine;
+import com.example.sequencegame.SequenceStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a round from the sequence stream and checking a full, correct round of input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SequenceEngineBenchmark {
+
+    @Param({"4", "16", "64", "256"})
+    public int sequenceLength;
+
+    private SequenceEngine engine;
+    // The expected inputs, so checking does not also measure reading the stream
+    private int[] sequence;
+
+    @Setup
+    public void setUp() {
+        engine = new SequenceEngine(sequenceLength, 0, new SequenceStream(1));
+        sequence = new int[sequenceLength];
+        for (int i = 0; i < sequenceLength; i++) {
+            sequence[i] = engine.getElement(i);
+        }
+    }
+
+    @Benchmark
+    public int readRound() {
+        int sum = 0;
+        for (int i = 0; i < sequenceLength; i++) {
+            sum += engine.getElement(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int checkFullRound() {
+        engine.restore(0, sequenceLength, 0, 0);
+        int result = SequenceEngine.RESULT_CORRECT;
+        for (int i = 0; i < sequence.length; i++) {
+            result = engine.checkInput(sequence[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.sequencegame.benchmark;
+
+import com.example.sequencegame.TiltClassifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tilt classification over a fixed batch of calibrated accelerometer samples.
+ * Samples are spread evenly over the neutral zone and all four tilt directions, so branch
+ * prediction sees a realistic mix rather than one repeated answer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TiltClassifierBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"0", "1", "2", "3"})
+    public int rotation;
+
+    private final float[] x = new float[SAMPLES];
+    private final float[] y = new float[SAMPLES];
+    private final float[] z = new float[SAMPLES];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < SAMPLES; i++) {
+            x[i] = (random.nextFloat() - 0.5f) * 12f;
+            y[i] = (random.nextFloat() - 0.5f) * 12f;
+            z[i] = (random.nextFloat() - 0.5f) * 4f;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public int getDirection() {
+        int sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sum += TiltClassifier.getDirection(x[i], y[i], z[i], rotation, TiltClassifier.DEFAULT_THRESHOLD);
+        }
+        return sum;
+    }
+}
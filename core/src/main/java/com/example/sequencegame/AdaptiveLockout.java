@@ -0,0 +1,131 @@
+package com.example.sequencegame;
+
+/**
+ * AdaptiveLockout decides when the next tilt may count as a new input.
+ * After an accepted input, the next one is locked out until the device has returned to the
+ * calibrated neutral pose and a minimum interval has passed. The interval is learned from how
+ * quickly the player returns to neutral. A player who tilts and returns quickly can enter
+ * several inputs per second.
+ * A tilt often rebounds past neutral into the opposite direction. So a tilt opposite to the last
+ * input must also take at least as long to develop after neutral as the return to neutral took.
+ * A deliberate tilt does, because going out takes about as long as coming back; a rebound arrives
+ * sooner and is not counted as a second input.
+ * Times are in nanoseconds on any monotonic clock, such as SensorEvent timestamps.
+ */
+public class AdaptiveLockout {
+
+    /** Neutral means the tilt is below this fraction of the direction threshold. */
+    public static final float NEUTRAL_FRACTION = 0.5f;
+    public static final long MIN_INTERVAL_NANOS = 150_000_000L;
+    public static final long MAX_INTERVAL_NANOS = GameRules.INPUT_DELAY * 1_000_000L;
+    /** New players start at the slowest interval and speed up as they play. */
+    public static final long DEFAULT_INTERVAL_NANOS = MAX_INTERVAL_NANOS;
+
+    // Each release moves the interval 1/LEARNING_WEIGHT of the way towards its target
+    private static final int LEARNING_WEIGHT = 8;
+
+    private long minIntervalNanos;
+    private long lastAcceptNanos;
+    private int lastDirection = TiltClassifier.NONE;
+    private long neutralNanos;
+    private long releaseNanos;
+    private boolean accepted;
+    private boolean armed = true;
+
+    /**
+     * @param minIntervalNanos The interval learned in earlier games; it is clamped to the allowed range.
+     */
+    public AdaptiveLockout(long minIntervalNanos) {
+        this.minIntervalNanos = clamp(minIntervalNanos);
+    }
+
+    private static long clamp(long intervalNanos) {
+        return Math.max(MIN_INTERVAL_NANOS, Math.min(MAX_INTERVAL_NANOS, intervalNanos));
+    }
+
+    /**
+     * Arms the lockout without learning from the pause, for the start of a player's turn.
+     */
+    public void rearm() {
+        armed = true;
+        accepted = false;
+    }
+
+    /**
+     * Locks input until the device returns to neutral, without learning from that return.
+     * Used when a turn is restored and the device may still be tilted.
+     */
+    public void requireNeutral() {
+        armed = false;
+        accepted = false;
+    }
+
+    /**
+     * Reports that the device is at the neutral pose. The first neutral reading after an input
+     * ends its lockout and teaches the interval: the target is one and a half times the time the
+     * player took to return, since a deliberate next tilt needs about as long again.
+     * @param timestampNanos When the reading was taken.
+     */
+    public void onNeutral(long timestampNanos) {
+        if (armed) {
+            return;
+        }
+        armed = true;
+        if (!accepted) {
+            return;
+        }
+        neutralNanos = timestampNanos;
+        releaseNanos = timestampNanos - lastAcceptNanos;
+        long target = clamp(releaseNanos + releaseNanos / 2);
+        minIntervalNanos = clamp(minIntervalNanos + (target - minIntervalNanos) / LEARNING_WEIGHT);
+    }
+
+    /**
+     * Accepts an input if the device has returned to neutral since the last one, the minimum
+     * interval has passed and it is not a rebound of the last input.
+     * @param direction The direction of the tilt, one of the TiltClassifier directions.
+     * @param timestampNanos When the reading was taken.
+     * @return true if the input counts, in which case the lockout starts again.
+     */
+    public boolean tryAccept(int direction, long timestampNanos) {
+        if (!armed || !isIntervalElapsed(timestampNanos) || isRebound(direction, timestampNanos)) {
+            return false;
+        }
+        armed = false;
+        accepted = true;
+        lastAcceptNanos = timestampNanos;
+        lastDirection = direction;
+        return true;
+    }
+
+    /**
+     * Returns true if a tilt opposite to the last input came back from neutral faster than the
+     * device returned to neutral, which is how a rebound looks.
+     * @param direction The direction of the tilt.
+     * @param timestampNanos The current time.
+     */
+    public boolean isRebound(int direction, long timestampNanos) {
+        boolean opposite = direction != TiltClassifier.NONE && lastDirection != TiltClassifier.NONE
+                && Math.abs(direction - lastDirection) == 2;
+        return accepted && opposite && timestampNanos - neutralNanos < releaseNanos;
+    }
+
+    /**
+     * Returns true if the device has returned to neutral since the last accepted input.
+     */
+    public boolean isArmed() {
+        return armed;
+    }
+
+    /**
+     * Returns true if the minimum interval since the last accepted input has passed.
+     * @param timestampNanos The current time.
+     */
+    public boolean isIntervalElapsed(long timestampNanos) {
+        return !accepted || timestampNanos - lastAcceptNanos >= minIntervalNanos;
+    }
+
+    public long getMinIntervalNanos() {
+        return minIntervalNanos;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.sequencegame;
+
+/**
+ * GameRules collects the difficulty parameters of the Sequence Game in one place,
+ * so the app and the JVM-side difficulty simulator always play by the same rules.
+ */
+public final class GameRules {
+
+    public static final int INITIAL_SEQUENCE_LENGTH = 4;
+    public static final int SEQUENCE_GROWTH = 2; // Sequence grows by 2 each round
+    public static final int LEADERBOARD_SIZE = 10; // Number of scores shown on the high score table
+
+    public static final long CALIBRATION_DELAY = 3000; // 3 seconds to hold the device still
+    public static final long GET_READY_DELAY = 2000; // 2 seconds between calibration and playback
+    public static final long SEQUENCE_DISPLAY_DELAY = 1000; // 1 second between each button flash
+    public static final long PLAYER_START_DELAY = 3000; // 3 seconds before player can start
+    public static final long INPUT_DELAY = 500; // 0.5 seconds between inputs at most, see AdaptiveLockout
+    public static final long DIRECTION_CHANGE_DELAY = 1000; // 1 second before the next round or game over
+
+    private GameRules() {
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.sequencegame;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram records durations in nanoseconds into fixed log-scale buckets.
+ * Each power of two is split into four buckets, so any value is within 25% of its bucket's
+ * lower bound. Recording is a few atomic increments and never allocates or locks, so it is safe
+ * to call from the sensor and UI threads while another thread reads a report.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the bucket a value falls into. Values below 4 get a bucket each; above that the
+     * two bits below the highest set bit pick one of the four buckets of that power of two.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (highestBit - 2)) & (SUB_BUCKETS - 1);
+        return highestBit * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the smallest value that falls into the given bucket.
+     */
+    static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS * 2) {
+            return bucket < SUB_BUCKETS ? bucket : SUB_BUCKETS;
+        }
+        int highestBit = bucket / SUB_BUCKETS;
+        int subBucket = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (highestBit - 2);
+    }
+
+    /**
+     * Records one duration.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+    }
+
+    /**
+     * Returns the lower bound of the bucket holding the given quantile, or 0 if nothing was recorded.
+     * @param quantile A fraction between 0 and 1.
+     */
+    public long percentile(double quantile) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long target = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target && seen > 0) {
+                return lowerBoundOf(i);
+            }
+        }
+        return 0;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+    }
+
+    /**
+     * Writes a one-line summary with times in milliseconds.
+     */
+    public void writeSummary(PrintWriter out) {
+        out.println(String.format("%-24s n=%-8d mean=%8.3f p50=%8.3f p90=%8.3f p99=%8.3f", name, getCount(),
+                getMeanNanos() / 1e6, percentile(0.5) / 1e6, percentile(0.9) / 1e6, percentile(0.99) / 1e6));
+    }
+
+    /**
+     * Writes every non-empty bucket as a CSV row of name, bucket lower bound in nanoseconds and count.
+     */
+    public void writeBuckets(PrintWriter out) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = buckets.get(i);
+            if (bucketCount != 0) {
+                out.println(name + "," + lowerBoundOf(i) + "," + bucketCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.sequencegame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Leaderboard keeps the best scores in memory, highest first, bounded to a fixed capacity.
+ * It follows the same ranking rules as DatabaseHandler: a score is a high score when fewer than
+ * capacity stored scores are strictly greater, and equal scores are ranked newest first.
+ */
+public class Leaderboard {
+
+    private final int capacity;
+    private final Score[] entries;
+    private int size;
+
+    public Leaderboard(int capacity) {
+        this.capacity = capacity;
+        this.entries = new Score[capacity];
+    }
+
+    /**
+     * Creates a leaderboard holding the best of the given scores.
+     * Equal scores keep their order in the list, so a list in board order, such as one read from
+     * DatabaseHandler or returned by getTopScores, is kept as it is.
+     * @param scores Scores in any order.
+     * @param capacity The maximum number of scores to keep.
+     */
+    public static Leaderboard of(List<Score> scores, int capacity) {
+        Leaderboard leaderboard = new Leaderboard(capacity);
+        for (Score score : scores) {
+            // Insert after all scores that are greater or equal so ties keep their list order
+            leaderboard.insert(score, leaderboard.countGreater(score.getScore() - 1));
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Returns the number of stored scores strictly greater than the given score.
+     * Binary search over the descending entries.
+     */
+    private int countGreater(int score) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries[middle].getScore() > score) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Adds a new score if it makes the board, dropping the lowest entry when full.
+     * The new score ranks ahead of equal scores, as the newest row does in DatabaseHandler.
+     * @param score The score to add.
+     * @return true if the score was kept, false otherwise.
+     */
+    public boolean offer(Score score) {
+        // A new score goes before the scores it ties, so it is kept exactly when isHighScore is true
+        return insert(score, countGreater(score.getScore()));
+    }
+
+    private boolean insert(Score score, int position) {
+        if (position >= capacity) {
+            return false;
+        }
+        int moved = Math.min(size, capacity - 1) - position;
+        System.arraycopy(entries, position, entries, position + 1, moved);
+        entries[position] = score;
+        if (size < capacity) {
+            size++;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a given score qualifies as a high score.
+     * @param score The score to check.
+     * @return true if fewer than capacity stored scores beat it, false otherwise.
+     */
+    public boolean isHighScore(int score) {
+        return countGreater(score) < capacity;
+    }
+
+    /**
+     * Returns the rank the given score would take, where 1 is the best.
+     * Only exact while the rank is within the board's capacity.
+     * @param score The score to rank.
+     */
+    public int rankOf(int score) {
+        return countGreater(score) + 1;
+    }
+
+    /**
+     * Returns the top scores, highest first.
+     * @param limit The maximum number of scores to return.
+     */
+    public List<Score> getTopScores(int limit) {
+        return new ArrayList<>(Arrays.asList(entries).subList(0, Math.min(limit, size)));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.sequencegame;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MetricsRegistry owns a set of named latency histograms and counters.
+ * Metrics are registered once up front and then updated through the returned objects,
+ * so the hot path never touches the registry itself. Registration is synchronized and the
+ * metrics are kept in copy-on-write lists, so reports can be written while metrics are registered.
+ */
+public class MetricsRegistry {
+
+    private final List<LatencyHistogram> histograms = new CopyOnWriteArrayList<>();
+    private final List<String> counterNames = new CopyOnWriteArrayList<>();
+    private final List<AtomicLong> counters = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a new histogram.
+     * @param name The name shown in reports.
+     */
+    public synchronized LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = new LatencyHistogram(name);
+        histograms.add(histogram);
+        return histogram;
+    }
+
+    /**
+     * Registers a new counter.
+     * @param name The name shown in reports.
+     */
+    public synchronized AtomicLong counter(String name) {
+        AtomicLong counter = new AtomicLong();
+        // The name goes first, so a report never reads a counter without its name
+        counterNames.add(name);
+        counters.add(counter);
+        return counter;
+    }
+
+    public List<LatencyHistogram> getHistograms() {
+        return new ArrayList<>(histograms);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        for (AtomicLong counter : counters) {
+            counter.set(0);
+        }
+    }
+
+    /**
+     * Writes a human-readable summary of all histograms and counters.
+     */
+    public void writeSummary(PrintWriter out) {
+        out.println("Latency (ms)");
+        for (LatencyHistogram histogram : histograms) {
+            histogram.writeSummary(out);
+        }
+        out.println();
+        out.println("Counters");
+        for (int i = 0; i < counters.size(); i++) {
+            out.println(String.format("%-24s %d", counterNames.get(i), counters.get(i).get()));
+        }
+    }
+
+    /**
+     * Writes the summary followed by the raw histogram buckets, for exporting to a file.
+     */
+    public void writeReport(PrintWriter out) {
+        writeSummary(out);
+        out.println();
+        out.println("histogram,lower_bound_ns,count");
+        for (LatencyHistogram histogram : histograms) {
+            histogram.writeBuckets(out);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.sequencegame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * NameTrie indexes player names by prefix for autocomplete.
+ * Matching ignores case, and each name is stored in the form it was first added, so "anna"
+ * and "Anna" are suggested once. Children are kept in sorted arrays, so completions come out
+ * in alphabetical order and a lookup only visits the prefix path plus the nodes it returns.
+ * Methods are synchronized: the index is built and updated on a background thread while the
+ * autocomplete filter reads it from another.
+ */
+public class NameTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        String name;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, childCount, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrAddChild(char key) {
+            int index = Arrays.binarySearch(keys, 0, childCount, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node child = new Node();
+            keys[insertAt] = key;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Adds a name, ignoring blank names and names already present in any letter case.
+     * @param name The player name.
+     * @return true if the name was new, false otherwise.
+     */
+    public synchronized boolean add(String name) {
+        String trimmed = name == null ? "" : name.trim();
+        if (trimmed.isEmpty()) {
+            return false;
+        }
+        Node node = root;
+        for (int i = 0; i < trimmed.length(); i++) {
+            node = node.getOrAddChild(Character.toLowerCase(trimmed.charAt(i)));
+        }
+        if (node.name != null) {
+            return false;
+        }
+        node.name = trimmed;
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns names starting with the given prefix, ignoring case, in alphabetical order.
+     * @param prefix The text typed so far.
+     * @param limit The maximum number of names to return.
+     */
+    public synchronized List<String> complete(String prefix, int limit) {
+        List<String> results = new ArrayList<>(Math.min(limit, 16));
+        String trimmed = prefix == null ? "" : prefix.trim();
+        if (trimmed.isEmpty() || limit <= 0) {
+            return results;
+        }
+        Node node = root;
+        for (int i = 0; i < trimmed.length() && node != null; i++) {
+            node = node.child(Character.toLowerCase(trimmed.charAt(i)));
+        }
+        if (node != null) {
+            collect(node, limit, results);
+        }
+        return results;
+    }
+
+    private static void collect(Node node, int limit, List<String> results) {
+        if (node.name != null) {
+            results.add(node.name);
+        }
+        for (int i = 0; i < node.childCount && results.size() < limit; i++) {
+            collect(node.children[i], limit, results);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -2,6 +2,8 @@ package com.example.sequencegame;
 
 public class Score {
     private int id;
+    // Identifies the score on every device; set when the score is first stored
+    private String uid;
     private String name;
     private int score;
 
@@ -27,6 +29,14 @@ public class Score {
         this.id = id;
     }
 
+    public String getUid() {
+        return uid;
+    }
+
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,106 @@
+package com.example.sequencegame;
+
+/**
+ * SequenceEngine holds the rules and progress of a single game: the current sequence,
+ * the player's position in it and the running score.
+ * It has no Android dependencies, so it can outlive an Activity and be stored as primitives.
+ * The sequence is never stored: each round reads its elements from a SequenceStream, continuing
+ * where the previous round ended, so memory use stays the same however long the sequence grows.
+ */
+public class SequenceEngine {
+
+    public static final int RESULT_CORRECT = 0;
+    public static final int RESULT_ROUND_COMPLETE = 1;
+    public static final int RESULT_WRONG = 2;
+
+    private final int growth;
+    private final SequenceStream stream;
+    // The position in the stream where the current round starts
+    private long streamOffset;
+    private int sequenceLength;
+    private int currentScore;
+    private int playerStep;
+
+    public SequenceEngine(int sequenceLength, int currentScore, SequenceStream stream) {
+        this(sequenceLength, currentScore, GameRules.SEQUENCE_GROWTH, stream);
+    }
+
+    /**
+     * Creates an engine with a custom per-round growth, as used by the difficulty simulator.
+     * @param sequenceLength The length of the first sequence.
+     * @param currentScore The score to start from.
+     * @param growth The number of elements added to the sequence each round.
+     * @param stream The stream the sequence is read from.
+     */
+    public SequenceEngine(int sequenceLength, int currentScore, int growth, SequenceStream stream) {
+        this.growth = growth;
+        this.sequenceLength = sequenceLength;
+        this.currentScore = currentScore;
+        this.stream = stream;
+    }
+
+    /**
+     * Restores an engine from previously saved primitive state.
+     * @param streamOffset The saved position in the stream where the current round starts.
+     * @param sequenceLength The saved length of the current round.
+     * @param currentScore The saved score.
+     * @param playerStep The saved position of the player in the sequence.
+     */
+    public void restore(long streamOffset, int sequenceLength, int currentScore, int playerStep) {
+        this.streamOffset = streamOffset;
+        this.sequenceLength = sequenceLength;
+        this.currentScore = currentScore;
+        this.playerStep = playerStep;
+    }
+
+    /**
+     * Checks if the player's input matches the current step in the sequence.
+     * @param direction The direction of the player's tilt
+     * @return RESULT_CORRECT, RESULT_ROUND_COMPLETE or RESULT_WRONG
+     */
+    public int checkInput(int direction) {
+        if (direction != getElement(playerStep)) {
+            return RESULT_WRONG;
+        }
+        currentScore++; // Increment score for each correct guess
+        playerStep++;
+        return playerStep == sequenceLength ? RESULT_ROUND_COMPLETE : RESULT_CORRECT;
+    }
+
+    /**
+     * Starts the next round by increasing sequence length and moving past the finished round in the stream.
+     */
+    public void nextRound() {
+        streamOffset += sequenceLength;
+        sequenceLength += growth;
+        playerStep = 0;
+    }
+
+    /**
+     * Returns one element of the current sequence, read from the stream.
+     * @param index The position in the current sequence.
+     */
+    public int getElement(int index) {
+        return stream.elementAt(streamOffset + index);
+    }
+
+    public SequenceStream getStream() {
+        return stream;
+    }
+
+    public long getStreamOffset() {
+        return streamOffset;
+    }
+
+    public int getSequenceLength() {
+        return sequenceLength;
+    }
+
+    public int getCurrentScore() {
+        return currentScore;
+    }
+
+    public int getPlayerStep() {
+        return playerStep;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.sequencegame;
+
+/**
+ * SequenceStream is an endless, seeded stream of directions that every game reads its sequence from.
+ * Any element can be reproduced in constant time from the seed and its index, so a game never
+ * needs to store the sequence: playback and input checking each read the elements they need.
+ */
+public final class SequenceStream {
+
+    // SplitMix64 constants
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long MIX_1 = 0xBF58476D1CE4E5B9L;
+    private static final long MIX_2 = 0x94D049BB133111EBL;
+
+    private final long seed;
+
+    public SequenceStream(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the direction at the given position in the stream.
+     * @param index The position, counted from the start of the game.
+     * @return A direction from 0 to 3.
+     */
+    public int elementAt(long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * MIX_1;
+        z = (z ^ (z >>> 27)) * MIX_2;
+        z ^= z >>> 31;
+        // The top bits are the best mixed
+        return (int) (z >>> 62);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.sequencegame;
+
+/**
+ * TiltClassifier turns calibrated accelerometer readings into one of the four button directions.
+ * Rotation values match android.view.Surface.ROTATION_0 to ROTATION_270.
+ */
+public final class TiltClassifier {
+
+    public static final int NONE = -1;
+    public static final int LEFT = 0;
+    public static final int TOP = 1;
+    public static final int RIGHT = 2;
+    public static final int BOTTOM = 3;
+
+    public static final int ROTATION_0 = 0;
+    public static final int ROTATION_90 = 1;
+    public static final int ROTATION_180 = 2;
+    public static final int ROTATION_270 = 3;
+
+    public static final float DEFAULT_THRESHOLD = 2.5f; // Reduced threshold for more sensitivity
+
+    private TiltClassifier() {
+    }
+
+    /**
+     * Determines the tilt direction based on accelerometer values.
+     * @param x X-axis acceleration relative to the calibrated position
+     * @param y Y-axis acceleration relative to the calibrated position
+     * @param z Z-axis acceleration relative to the calibrated position
+     * @param rotation The display rotation
+     * @param threshold The acceleration a tilt has to exceed on its dominant axis
+     * @return The detected direction (LEFT, TOP, RIGHT, BOTTOM) or NONE if no direction is detected
+     */
+    public static int getDirection(float x, float y, float z, int rotation, float threshold) {
+        switch (rotation) {
+            case ROTATION_0:
+                if (Math.abs(x) > Math.abs(y)) {
+                    return x > threshold ? LEFT : x < -threshold ? RIGHT : NONE;
+                } else {
+                    return y > threshold ? TOP : y < -threshold ? BOTTOM : NONE;
+                }
+            case ROTATION_90:
+                if (Math.abs(y) > Math.abs(x)) {
+                    return y > threshold ? RIGHT : y < -threshold ? LEFT : NONE;
+                } else {
+                    return x < -threshold ? TOP : x > threshold ? BOTTOM : NONE;
+                }
+            case ROTATION_180:
+                if (Math.abs(x) > Math.abs(y)) {
+                    return x > threshold ? RIGHT : x < -threshold ? LEFT : NONE;
+                } else {
+                    return y < -threshold ? TOP : y > threshold ? BOTTOM : NONE;
+                }
+            case ROTATION_270:
+                if (Math.abs(y) > Math.abs(x)) {
+                    return y < -threshold ? RIGHT : y > threshold ? LEFT : NONE;
+                } else {
+                    return x > threshold ? TOP : x < -threshold ? BOTTOM : NONE;
+                }
+            default:
+                return NONE;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.sequencegame;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * TraceRecorder keeps the most recent events in a fixed-size ring buffer and dumps them in the
+ * Chrome trace-event JSON format, which chrome://tracing and ui.perfetto.dev can open.
+ * All storage is allocated up front as parallel atomic arrays, so recording never allocates
+ * and can stay enabled in production. Writers claim a slot with one atomic increment, mark it
+ * unpublished, fill it and publish it by storing its sequence number last. Every slot field is
+ * stored and loaded with volatile semantics, so these steps cannot be reordered, and a dump that
+ * reads the same sequence number before and after a slot's fields skips half-written slots.
+ */
+public class TraceRecorder {
+
+    private static final byte PHASE_INSTANT = 'i';
+    private static final byte PHASE_BEGIN = 'B';
+    private static final byte PHASE_END = 'E';
+
+    private final String[] eventNames;
+    private final int mask;
+    private final AtomicLongArray timestamps;
+    private final AtomicLongArray threadIds;
+    private final AtomicIntegerArray types;
+    private final AtomicIntegerArray args;
+    private final AtomicIntegerArray phases;
+    private final AtomicLongArray published;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * @param capacity The number of events kept; rounded up to a power of two.
+     * @param eventNames The name of each event type, indexed by type.
+     */
+    public TraceRecorder(int capacity, String[] eventNames) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.eventNames = eventNames.clone();
+        this.mask = size - 1;
+        this.timestamps = new AtomicLongArray(size);
+        this.threadIds = new AtomicLongArray(size);
+        this.types = new AtomicIntegerArray(size);
+        this.args = new AtomicIntegerArray(size);
+        this.phases = new AtomicIntegerArray(size);
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Records a point-in-time event.
+     * @param type The event type, an index into the event names.
+     * @param arg A value shown with the event, such as a direction or sequence length.
+     */
+    public void instant(int type, int arg) {
+        record(PHASE_INSTANT, type, arg);
+    }
+
+    /**
+     * Records the start of a span; it must be closed by end with the same type on the same thread.
+     */
+    public void begin(int type, int arg) {
+        record(PHASE_BEGIN, type, arg);
+    }
+
+    /**
+     * Records the end of a span started by begin.
+     */
+    public void end(int type, int arg) {
+        record(PHASE_END, type, arg);
+    }
+
+    private void record(byte phase, int type, int arg) {
+        long sequence = next.getAndIncrement();
+        int slot = (int) sequence & mask;
+        published.set(slot, -1);
+        timestamps.set(slot, System.nanoTime());
+        threadIds.set(slot, Thread.currentThread().getId());
+        types.set(slot, type);
+        args.set(slot, arg);
+        phases.set(slot, phase);
+        published.set(slot, sequence);
+    }
+
+    /**
+     * Returns the number of events currently held, at most the buffer capacity.
+     */
+    public int size() {
+        return (int) Math.min(next.get(), mask + 1);
+    }
+
+    /**
+     * Writes the buffered events, oldest first, as a Chrome trace-event JSON document.
+     * @param out The writer to write to; it is not closed.
+     */
+    public void writeChromeTrace(Writer out) throws IOException {
+        long end = next.get();
+        long start = Math.max(0, end - (mask + 1));
+        out.write("{\"traceEvents\":[");
+        boolean first = true;
+        for (long sequence = start; sequence < end; sequence++) {
+            int slot = (int) sequence & mask;
+            if (published.get(slot) != sequence) {
+                continue; // Overwritten or still being written
+            }
+            long timestamp = timestamps.get(slot);
+            long threadId = threadIds.get(slot);
+            int type = types.get(slot);
+            int arg = args.get(slot);
+            int phase = phases.get(slot);
+            if (published.get(slot) != sequence) {
+                continue;
+            }
+
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            out.write("\n{\"name\":\"");
+            out.write(type >= 0 && type < eventNames.length ? eventNames[type] : "event" + type);
+            out.write("\",\"ph\":\"");
+            out.write((char) phase);
+            out.write("\",\"ts\":");
+            out.write(String.valueOf(timestamp / 1000));
+            out.write('.');
+            out.write(String.valueOf(1000 + timestamp % 1000).substring(1));
+            out.write(",\"pid\":1,\"tid\":");
+            out.write(String.valueOf(threadId));
+            if (phase == PHASE_INSTANT) {
+                out.write(",\"s\":\"t\"");
+            }
+            out.write(",\"args\":{\"value\":");
+            out.write(String.valueOf(arg));
+            out.write("}}");
+        }
+        out.write("\n]}\n");
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.sequencegame.sync;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LeaderboardSync uploads the local outbox and pulls new scores from a LeaderboardTransport.
+ * Both directions only move records created since the last sync, so the cost of a sync grows
+ * with the number of new scores rather than with the size of the leaderboard.
+ */
+public class LeaderboardSync {
+
+    public static final int UPLOAD_BATCH_SIZE = 100;
+    public static final int DOWNLOAD_BATCH_SIZE = 500;
+
+    private final SyncStore store;
+    private final LeaderboardTransport transport;
+
+    public LeaderboardSync(SyncStore store, LeaderboardTransport transport) {
+        this.store = store;
+        this.transport = transport;
+    }
+
+    /**
+     * Runs one sync. If the transport fails, everything done so far is kept and the rest is
+     * retried by the next sync.
+     * @return The downloaded records that were new to this device.
+     */
+    public List<SyncRecord> sync() throws IOException {
+        upload();
+        return download();
+    }
+
+    private void upload() throws IOException {
+        List<SyncRecord> batch;
+        do {
+            batch = store.readOutbox(UPLOAD_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            transport.upload(ScoreBatchCodec.encode(batch));
+            store.deleteOutbox(batch.get(batch.size() - 1).getSequence());
+        } while (batch.size() == UPLOAD_BATCH_SIZE);
+    }
+
+    private List<SyncRecord> download() throws IOException {
+        List<SyncRecord> merged = new ArrayList<>();
+        long highWaterMark = store.getHighWaterMark();
+        List<SyncRecord> batch;
+        do {
+            batch = ScoreBatchCodec.decode(transport.fetchSince(highWaterMark, DOWNLOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            highWaterMark = batch.get(batch.size() - 1).getSequence();
+            merged.addAll(store.mergeRemote(batch, highWaterMark));
+        } while (batch.size() == DOWNLOAD_BATCH_SIZE);
+        return merged;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.sequencegame.sync;
+
+import java.io.IOException;
+
+/**
+ * LeaderboardTransport is the endpoint a device syncs its scores with.
+ * Batches are encoded with ScoreBatchCodec, so implementations only move bytes.
+ */
+public interface LeaderboardTransport {
+
+    /**
+     * Uploads a batch of new scores. Scores whose uid the server already has must be ignored,
+     * so a batch can safely be retried after a failure.
+     * @param batch The encoded records.
+     */
+    void upload(byte[] batch) throws IOException;
+
+    /**
+     * Downloads scores the server received after the given sequence number, oldest first.
+     * @param highWaterMark The largest sequence number the client has already merged.
+     * @param limit The maximum number of records to return.
+     * @return The encoded records.
+     */
+    byte[] fetchSince(long highWaterMark, int limit) throws IOException;
+}
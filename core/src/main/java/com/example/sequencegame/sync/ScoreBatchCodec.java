@@ -0,0 +1,52 @@
+package com.example.sequencegame.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ScoreBatchCodec packs a batch of records into a compact gzip-compressed binary form for transport.
+ */
+public final class ScoreBatchCodec {
+
+    private static final int VERSION = 1;
+
+    private ScoreBatchCodec() {
+    }
+
+    public static byte[] encode(List<SyncRecord> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(VERSION);
+            out.writeInt(records.size());
+            for (SyncRecord record : records) {
+                out.writeUTF(record.getUid());
+                out.writeUTF(record.getName());
+                out.writeInt(record.getScore());
+                out.writeLong(record.getSequence());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<SyncRecord> decode(byte[] batch) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(batch)))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported batch version " + version);
+            }
+            int count = in.readInt();
+            List<SyncRecord> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                records.add(new SyncRecord(in.readUTF(), in.readUTF(), in.readInt(), in.readLong()));
+            }
+            return records;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.sequencegame.sync;
+
+/**
+ * SyncRecord is one score as it travels between a device and the shared leaderboard.
+ * The uid identifies the score on every device. The sequence is the outbox row id on upload
+ * and the server's ordering on download, which clients keep as their high-water mark.
+ */
+public class SyncRecord {
+
+    private final String uid;
+    private final String name;
+    private final int score;
+    private final long sequence;
+
+    public SyncRecord(String uid, String name, int score, long sequence) {
+        this.uid = uid;
+        this.name = name;
+        this.score = score;
+        this.sequence = sequence;
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.sequencegame.sync;
+
+import java.util.List;
+
+/**
+ * SyncStore is the local side of leaderboard sync: an outbox of scores waiting to be uploaded,
+ * and the high-water mark of the last merged server record.
+ */
+public interface SyncStore {
+
+    /**
+     * Returns the oldest scores waiting to be uploaded, with the outbox row id as their sequence.
+     * @param limit The maximum number of records to return.
+     */
+    List<SyncRecord> readOutbox(int limit);
+
+    /**
+     * Removes uploaded scores from the outbox.
+     * @param lastSequence The sequence of the last uploaded record; it and all older records are removed.
+     */
+    void deleteOutbox(long lastSequence);
+
+    long getHighWaterMark();
+
+    /**
+     * Stores downloaded scores and the new high-water mark in one transaction,
+     * skipping scores whose uid is already stored.
+     * @param records The downloaded records.
+     * @param highWaterMark The sequence of the last downloaded record.
+     * @return The records that were new to this device.
+     */
+    List<SyncRecord> mergeRemote(List<SyncRecord> records, long highWaterMark);
+}
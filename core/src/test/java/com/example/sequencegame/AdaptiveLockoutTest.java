@@ -0,0 +1,96 @@
+package com.example.sequencegame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for AdaptiveLockout.
+ */
+public class AdaptiveLockoutTest {
+
+    private static final long MS = 1_000_000L;
+    private static final int LEFT = TiltClassifier.LEFT;
+    private static final int RIGHT = TiltClassifier.RIGHT;
+    private static final int TOP = TiltClassifier.TOP;
+
+    @Test
+    public void tryAccept_requiresNeutralAndInterval() {
+        AdaptiveLockout lockout = new AdaptiveLockout(300 * MS);
+        assertTrue(lockout.tryAccept(LEFT, 1000 * MS));
+
+        // Still tilted: the same tilt is not counted again however long it is held
+        assertFalse(lockout.tryAccept(LEFT, 2000 * MS));
+
+        lockout = new AdaptiveLockout(300 * MS);
+        lockout.tryAccept(LEFT, 0);
+        lockout.onNeutral(100 * MS);
+        // Back at neutral but the interval has not passed yet
+        assertFalse(lockout.tryAccept(LEFT, 150 * MS));
+        assertTrue(lockout.tryAccept(LEFT, lockout.getMinIntervalNanos()));
+    }
+
+    @Test
+    public void onNeutral_learnsTowardsPlayerSpeed() {
+        AdaptiveLockout lockout = new AdaptiveLockout(AdaptiveLockout.DEFAULT_INTERVAL_NANOS);
+        long now = 0;
+        // A player entering four inputs per second, alternating sides, returns to neutral after 100 ms
+        for (int i = 0; i < 40; i++) {
+            assertTrue(lockout.tryAccept(i % 2 == 0 ? LEFT : RIGHT, now));
+            lockout.onNeutral(now + 100 * MS);
+            now += Math.max(250 * MS, lockout.getMinIntervalNanos());
+        }
+        // The interval has settled below the player's 250 ms pace, so it no longer holds them back
+        assertTrue(lockout.getMinIntervalNanos() < 160 * MS);
+
+        // A slow return lengthens the interval again, up to the cap
+        for (int i = 0; i < 100; i++) {
+            lockout.tryAccept(LEFT, now);
+            lockout.onNeutral(now + 2000 * MS);
+            now += 3000 * MS;
+        }
+        assertTrue(lockout.getMinIntervalNanos() > 490 * MS);
+        assertTrue(lockout.getMinIntervalNanos() <= AdaptiveLockout.MAX_INTERVAL_NANOS);
+    }
+
+    @Test
+    public void rearm_doesNotLearnFromPause() {
+        AdaptiveLockout lockout = new AdaptiveLockout(200 * MS);
+        lockout.tryAccept(LEFT, 0);
+        lockout.rearm();
+        lockout.onNeutral(5000 * MS);
+        assertEquals(200 * MS, lockout.getMinIntervalNanos());
+        assertTrue(lockout.tryAccept(RIGHT, 5000 * MS));
+    }
+
+    @Test
+    public void requireNeutral_blocksHeldTiltWithoutLearning() {
+        AdaptiveLockout lockout = new AdaptiveLockout(200 * MS);
+        lockout.requireNeutral();
+        assertFalse(lockout.tryAccept(LEFT, 1000 * MS));
+        lockout.onNeutral(4000 * MS);
+        assertEquals(200 * MS, lockout.getMinIntervalNanos());
+        assertTrue(lockout.tryAccept(LEFT, 4000 * MS));
+    }
+
+    @Test
+    public void tryAccept_rejectsReboundAtMinimumInterval() {
+        AdaptiveLockout lockout = new AdaptiveLockout(AdaptiveLockout.MIN_INTERVAL_NANOS);
+        assertTrue(lockout.tryAccept(LEFT, 0));
+        lockout.onNeutral(100 * MS);
+        assertEquals(AdaptiveLockout.MIN_INTERVAL_NANOS, lockout.getMinIntervalNanos());
+
+        // The tilt swings through neutral into the opposite side 60 ms later: a rebound, not an input
+        assertFalse(lockout.tryAccept(RIGHT, 160 * MS));
+        assertTrue(lockout.isRebound(RIGHT, 160 * MS));
+        // A different side is a deliberate input at the same moment
+        assertTrue(lockout.tryAccept(TOP, 160 * MS));
+
+        // The opposite side counts once it took as long to develop as the return did
+        lockout = new AdaptiveLockout(AdaptiveLockout.MIN_INTERVAL_NANOS);
+        lockout.tryAccept(LEFT, 0);
+        lockout.onNeutral(100 * MS);
+        assertFalse(lockout.tryAccept(RIGHT, 199 * MS));
+        assertTrue(lockout.tryAccept(RIGHT, 200 * MS));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.sequencegame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for LatencyHistogram bucketing.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketOf_lowerBoundIsWithinOneBucketOfValue() {
+        for (long value = 0; value < 1_000_000_000_000L; value = value * 3 / 2 + 1) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long lowerBound = LatencyHistogram.lowerBoundOf(bucket);
+            assertTrue(lowerBound <= value);
+            assertTrue(LatencyHistogram.lowerBoundOf(bucket + 1) > value);
+        }
+    }
+
+    @Test
+    public void percentile_reportsBucketOfQuantile() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000_000);
+        }
+        histogram.record(1L << 26);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(LatencyHistogram.lowerBoundOf(LatencyHistogram.bucketOf(1_000_000)), histogram.percentile(0.5));
+        assertEquals(1L << 26, histogram.percentile(1.0));
+    }
+}
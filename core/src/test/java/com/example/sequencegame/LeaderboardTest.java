@@ -0,0 +1,85 @@
+package com.example.sequencegame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for Leaderboard, checking it ranks like DatabaseHandler's queries.
+ */
+public class LeaderboardTest {
+
+    @Test
+    public void offer_ranksTiesLikeTopScoresQuery() {
+        Leaderboard leaderboard = new Leaderboard(5);
+        List<Score> stored = new ArrayList<>();
+        int[] values = {5, 9, 5, 1, 7, 5, 9, 5, 7, 5};
+        for (int i = 0; i < values.length; i++) {
+            // Ids grow with every insert like the table's primary key
+            Score score = new Score(i + 1, "p" + i, values[i]);
+            stored.add(score);
+            leaderboard.offer(score);
+        }
+
+        // ORDER BY score DESC, id DESC
+        List<Score> expected = new ArrayList<>(stored);
+        Collections.sort(expected, new Comparator<Score>() {
+            @Override
+            public int compare(Score a, Score b) {
+                if (a.getScore() != b.getScore()) {
+                    return Integer.compare(b.getScore(), a.getScore());
+                }
+                return Integer.compare(b.getId(), a.getId());
+            }
+        });
+        expected = expected.subList(0, leaderboard.getCapacity());
+
+        assertEquals(ids(expected), ids(leaderboard.getTopScores(10)));
+        // A board rebuilt from the query's rows after a restart keeps the same order
+        assertEquals(ids(expected), ids(Leaderboard.of(expected, 5).getTopScores(10)));
+    }
+
+    @Test
+    public void offer_keepsTieAtCapacityExactlyWhenItIsAHighScore() {
+        Leaderboard leaderboard = new Leaderboard(10);
+        for (int i = 0; i < 9; i++) {
+            leaderboard.offer(new Score("p" + i, 100));
+        }
+        leaderboard.offer(new Score("old", 50));
+
+        assertTrue(leaderboard.isHighScore(50));
+        assertTrue(leaderboard.offer(new Score("new", 50)));
+        assertEquals(10, leaderboard.size());
+        assertEquals("new", leaderboard.getTopScores(10).get(9).getName());
+
+        assertFalse(leaderboard.isHighScore(49));
+        assertFalse(leaderboard.offer(new Score("low", 49)));
+    }
+
+    @Test
+    public void isHighScore_matchesCountOfStrictlyGreaterScores() {
+        Leaderboard leaderboard = new Leaderboard(2);
+        assertTrue(leaderboard.isHighScore(0));
+        leaderboard.offer(new Score("a", 10));
+        leaderboard.offer(new Score("b", 10));
+
+        // Two scores beat 9, but none beat 10
+        assertFalse(leaderboard.isHighScore(9));
+        assertTrue(leaderboard.isHighScore(10));
+        assertEquals(1, leaderboard.rankOf(10));
+        assertEquals(3, leaderboard.rankOf(9));
+    }
+
+    private static List<Integer> ids(List<Score> scores) {
+        List<Integer> ids = new ArrayList<>();
+        for (Score score : scores) {
+            ids.add(score.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.sequencegame;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for NameTrie.
+ */
+public class NameTrieTest {
+
+    @Test
+    public void complete_ignoresCaseAndKeepsFirstSpelling() {
+        NameTrie trie = new NameTrie();
+        assertTrue(trie.add("Anna"));
+        assertFalse(trie.add("anna "));
+        trie.add("andy");
+        trie.add("Bob");
+        trie.add("an");
+
+        assertEquals(3, trie.complete("AN", 10).size());
+        assertEquals(Arrays.asList("an", "andy", "Anna"), trie.complete("an", 10));
+        assertEquals(Arrays.asList("an", "andy"), trie.complete("a", 2));
+        assertTrue(trie.complete("c", 10).isEmpty());
+        assertEquals(4, trie.size());
+    }
+}
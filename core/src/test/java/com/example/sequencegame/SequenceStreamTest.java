@@ -0,0 +1,52 @@
+package com.example.sequencegame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for SequenceStream and how SequenceEngine reads its rounds from it.
+ */
+public class SequenceStreamTest {
+
+    @Test
+    public void elementAt_isReproducibleAndCoversAllDirections() {
+        SequenceStream stream = new SequenceStream(42);
+        SequenceStream same = new SequenceStream(42);
+        int[] counts = new int[4];
+        for (long i = 0; i < 4000; i++) {
+            int element = stream.elementAt(i);
+            assertEquals(same.elementAt(i), element);
+            counts[element]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800);
+        }
+    }
+
+    @Test
+    public void engine_roundsContinueThroughTheStream() {
+        SequenceStream stream = new SequenceStream(7);
+        SequenceEngine engine = new SequenceEngine(4, 0, stream);
+
+        long index = 0;
+        for (int round = 0; round < 5; round++) {
+            int length = engine.getSequenceLength();
+            for (int i = 0; i < length; i++) {
+                assertEquals(stream.elementAt(index + i), engine.getElement(i));
+                int expected = i == length - 1 ? SequenceEngine.RESULT_ROUND_COMPLETE : SequenceEngine.RESULT_CORRECT;
+                assertEquals(expected, engine.checkInput(stream.elementAt(index + i)));
+            }
+            index += length;
+            engine.nextRound();
+            assertEquals(length + GameRules.SEQUENCE_GROWTH, engine.getSequenceLength());
+        }
+        assertEquals(index, engine.getStreamOffset());
+
+        // A restored engine picks up mid-round and rejects the wrong direction
+        SequenceEngine restored = new SequenceEngine(4, 0, new SequenceStream(7));
+        restored.restore(engine.getStreamOffset(), engine.getSequenceLength(), engine.getCurrentScore(), 1);
+        assertEquals(engine.getElement(1), restored.getElement(1));
+        assertEquals(SequenceEngine.RESULT_WRONG, restored.checkInput((restored.getElement(1) + 1) % 4));
+    }
+}
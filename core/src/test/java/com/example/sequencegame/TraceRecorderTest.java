@@ -0,0 +1,75 @@
+package com.example.sequencegame;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for TraceRecorder.
+ */
+public class TraceRecorderTest {
+
+    @Test
+    public void writeChromeTrace_keepsOnlyNewestEventsInOrder() throws IOException {
+        TraceRecorder recorder = new TraceRecorder(4, new String[]{"flash", "write"});
+        for (int i = 0; i < 6; i++) {
+            recorder.instant(0, i);
+        }
+        recorder.begin(1, 0);
+        recorder.end(1, 0);
+        assertEquals(4, recorder.size());
+
+        StringWriter out = new StringWriter();
+        recorder.writeChromeTrace(out);
+        String json = out.toString();
+
+        assertFalse(json.contains("\"value\":3}"));
+        assertTrue(json.indexOf("\"value\":4}") < json.indexOf("\"value\":5}"));
+        assertTrue(json.contains("\"name\":\"write\",\"ph\":\"B\""));
+        assertTrue(json.contains("\"name\":\"write\",\"ph\":\"E\""));
+        assertTrue(json.startsWith("{\"traceEvents\":["));
+        assertTrue(json.trim().endsWith("]}"));
+    }
+
+    @Test
+    public void writeChromeTrace_neverDumpsTornEventsWhileRecording() throws Exception {
+        final TraceRecorder recorder = new TraceRecorder(64, new String[]{"e0", "e1", "e2", "e3"});
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            final int type = t;
+            writers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 200000; i++) {
+                        // Each event's argument matches its type, so a torn slot shows up as a mismatch
+                        recorder.instant(type, type);
+                    }
+                }
+            });
+            writers[t].start();
+        }
+
+        Pattern event = Pattern.compile("\"name\":\"e(\\d)\".*\"value\":(\\d+)\\}");
+        int dumps = 0;
+        long checked = 0;
+        while (writers[0].isAlive() || dumps == 0) {
+            StringWriter out = new StringWriter();
+            recorder.writeChromeTrace(out);
+            Matcher matcher = event.matcher(out.toString());
+            while (matcher.find()) {
+                assertEquals(matcher.group(1), matcher.group(2));
+                checked++;
+            }
+            dumps++;
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertTrue(checked > 0);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.sequencegame.sync;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * InMemoryLeaderboardServer is an in-process LeaderboardTransport that behaves like the shared
+ * leaderboard server for tests: it assigns increasing sequence numbers and ignores duplicate uids.
+ */
+public class InMemoryLeaderboardServer implements LeaderboardTransport {
+
+    private final List<SyncRecord> records = new ArrayList<>();
+    private final Set<String> uids = new HashSet<>();
+    private int uploads;
+    private int fetches;
+
+    @Override
+    public synchronized void upload(byte[] batch) throws IOException {
+        uploads++;
+        for (SyncRecord record : ScoreBatchCodec.decode(batch)) {
+            if (uids.add(record.getUid())) {
+                records.add(new SyncRecord(record.getUid(), record.getName(), record.getScore(), records.size() + 1));
+            }
+        }
+    }
+
+    @Override
+    public synchronized byte[] fetchSince(long highWaterMark, int limit) throws IOException {
+        fetches++;
+        // Record i has sequence i + 1, so the next record to send is at index highWaterMark
+        int from = (int) Math.min(Math.max(0, highWaterMark), records.size());
+        int to = Math.min(records.size(), from + limit);
+        return ScoreBatchCodec.encode(new ArrayList<>(records.subList(from, to)));
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+
+    public synchronized int getUploadCount() {
+        return uploads;
+    }
+
+    public synchronized int getFetchCount() {
+        return fetches;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.sequencegame.sync;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for LeaderboardSync, with two devices syncing through an InMemoryLeaderboardServer.
+ */
+public class LeaderboardSyncTest {
+
+    /**
+     * A SyncStore kept in memory, standing in for the app's database.
+     */
+    private static class MemoryStore implements SyncStore {
+        final List<SyncRecord> outbox = new ArrayList<>();
+        final Set<String> scores = new HashSet<>();
+        long highWaterMark;
+        long nextOutboxId = 1;
+
+        void add(String name, int score) {
+            String uid = name + "-" + nextOutboxId;
+            scores.add(uid);
+            outbox.add(new SyncRecord(uid, name, score, nextOutboxId++));
+        }
+
+        @Override
+        public List<SyncRecord> readOutbox(int limit) {
+            return new ArrayList<>(outbox.subList(0, Math.min(limit, outbox.size())));
+        }
+
+        @Override
+        public void deleteOutbox(long lastSequence) {
+            while (!outbox.isEmpty() && outbox.get(0).getSequence() <= lastSequence) {
+                outbox.remove(0);
+            }
+        }
+
+        @Override
+        public long getHighWaterMark() {
+            return highWaterMark;
+        }
+
+        @Override
+        public List<SyncRecord> mergeRemote(List<SyncRecord> records, long highWaterMark) {
+            List<SyncRecord> merged = new ArrayList<>();
+            for (SyncRecord record : records) {
+                if (scores.add(record.getUid())) {
+                    merged.add(record);
+                }
+            }
+            this.highWaterMark = highWaterMark;
+            return merged;
+        }
+    }
+
+    @Test
+    public void codec_roundTrip() throws Exception {
+        List<SyncRecord> records = new ArrayList<>();
+        records.add(new SyncRecord("a", "Anna", 12, 1));
+        records.add(new SyncRecord("b", "Zo\u00eb", 0, Long.MAX_VALUE));
+
+        List<SyncRecord> decoded = ScoreBatchCodec.decode(ScoreBatchCodec.encode(records));
+        assertEquals(2, decoded.size());
+        assertEquals("Zo\u00eb", decoded.get(1).getName());
+        assertEquals(Long.MAX_VALUE, decoded.get(1).getSequence());
+        assertEquals(12, decoded.get(0).getScore());
+        assertTrue(ScoreBatchCodec.decode(ScoreBatchCodec.encode(new ArrayList<SyncRecord>())).isEmpty());
+    }
+
+    @Test
+    public void sync_uploadsInBatchesAndPullsOnlyNewScores() throws Exception {
+        InMemoryLeaderboardServer server = new InMemoryLeaderboardServer();
+        MemoryStore first = new MemoryStore();
+        MemoryStore second = new MemoryStore();
+        int scores = LeaderboardSync.UPLOAD_BATCH_SIZE * 2 + 1;
+        for (int i = 0; i < scores; i++) {
+            first.add("first", i);
+        }
+        second.add("second", 7);
+
+        // Own uploads come back on the pull but are not new to the device
+        assertTrue(new LeaderboardSync(first, server).sync().isEmpty());
+        assertTrue(first.outbox.isEmpty());
+        assertEquals(3, server.getUploadCount());
+        assertEquals(scores, first.getHighWaterMark());
+
+        List<SyncRecord> merged = new LeaderboardSync(second, server).sync();
+        assertEquals(scores, merged.size());
+        assertEquals(scores + 1, server.size());
+        assertEquals(scores + 1, second.getHighWaterMark());
+
+        // The next sync only moves the one score the other device added since
+        int fetches = server.getFetchCount();
+        merged = new LeaderboardSync(first, server).sync();
+        assertEquals(1, merged.size());
+        assertEquals("second", merged.get(0).getName());
+        assertEquals(fetches + 1, server.getFetchCount());
+    }
+
+    @Test
+    public void sync_retriedUploadIsNotDuplicated() throws Exception {
+        InMemoryLeaderboardServer server = new InMemoryLeaderboardServer();
+        MemoryStore store = new MemoryStore();
+        store.add("anna", 5);
+        byte[] batch = ScoreBatchCodec.encode(store.readOutbox(10));
+        server.upload(batch);
+        server.upload(batch);
+        assertEquals(1, server.size());
+    }
+}
@@ -0,0 +1,18 @@
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+application {
+    mainClass.set("com.example.sequencegame.simulator.DifficultySimulator")
+    applicationDefaultJvmArgs = listOf("-Xmx1g")
+}
+
+dependencies {
+    implementation(project(":core"))
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,59 @@
+package com.example.sequencegame.simulator;
+
+import com.example.sequencegame.AdaptiveLockout;
+import com.example.sequencegame.GameRules;
+
+/**
+ * DifficultyParameters is one set of tunable game rules for the difficulty simulator.
+ * The defaults are the values the app currently ships with in GameRules and AdaptiveLockout.
+ * Inputs within a round are spaced by an AdaptiveLockout that starts at inputInterval and adapts to
+ * the player; directionChangeDelay is the pause before the next round or game over.
+ */
+public class DifficultyParameters {
+
+    public static final String CSV_HEADER = "initialLength,growth,displayDelay,playerStartDelay,inputInterval,directionChangeDelay";
+
+    final int initialLength;
+    final int growth;
+    final long displayDelay;
+    final long playerStartDelay;
+    final long inputInterval;
+    final long directionChangeDelay;
+    final int maxRounds;
+
+    public DifficultyParameters(int initialLength, int growth, long displayDelay, long playerStartDelay,
+                                long inputInterval, long directionChangeDelay, int maxRounds) {
+        this.initialLength = initialLength;
+        this.growth = growth;
+        this.displayDelay = displayDelay;
+        this.playerStartDelay = playerStartDelay;
+        this.inputInterval = inputInterval;
+        this.directionChangeDelay = directionChangeDelay;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Returns the parameters the app currently uses.
+     * @param maxRounds The number of rounds after which a game is stopped as a survivor.
+     */
+    public static DifficultyParameters defaults(int maxRounds) {
+        return new DifficultyParameters(GameRules.INITIAL_SEQUENCE_LENGTH, GameRules.SEQUENCE_GROWTH,
+                GameRules.SEQUENCE_DISPLAY_DELAY, GameRules.PLAYER_START_DELAY,
+                AdaptiveLockout.DEFAULT_INTERVAL_NANOS / 1_000_000, GameRules.DIRECTION_CHANGE_DELAY, maxRounds);
+    }
+
+    /**
+     * Returns the parameters as CSV columns, in the order of CSV_HEADER.
+     */
+    public String toCsv() {
+        return initialLength + "," + growth + "," + displayDelay + "," + playerStartDelay + ","
+                + inputInterval + "," + directionChangeDelay;
+    }
+
+    @Override
+    public String toString() {
+        return "length=" + initialLength + " growth=" + growth + " display=" + displayDelay
+                + "ms start=" + playerStartDelay + "ms interval=" + inputInterval
+                + "ms transition=" + directionChangeDelay + "ms";
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.sequencegame.simulator;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * DifficultySimulator runs the game rules against synthetic players on all cores and reports
+ * score, round-reached and duration distributions for every combination of parameters.
+ *
+ * Every option except --player accepts a comma-separated list, and all combinations are run:
+ * <pre>
+ * --games=10000000 --seed=1 --parallelism=8 --out=results.csv --maxRounds=200
+ * --initialLength=4 --growth=1,2 --displayDelay=800,1000 --playerStartDelay=3000
+ * --inputInterval=300,500 --directionChangeDelay=600,1000
+ * --player=name:span:errorRate:overloadErrorRate:reactionMedianMs:reactionSigma (repeatable)
+ * </pre>
+ */
+public class DifficultySimulator {
+
+    private static final Set<String> OPTIONS = new HashSet<>(Arrays.asList(
+            "games", "seed", "parallelism", "out", "maxRounds", "initialLength", "growth",
+            "displayDelay", "playerStartDelay", "inputInterval", "directionChangeDelay", "player"));
+
+    public static void main(String[] args) throws FileNotFoundException {
+        Map<String, String> options = new HashMap<>();
+        List<PlayerModel> players = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (!OPTIONS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option --" + key);
+            }
+            if (key.equals("player")) {
+                players.add(PlayerModel.parse(value));
+            } else {
+                options.put(key, value);
+            }
+        }
+        if (players.isEmpty()) {
+            for (PlayerModel preset : PlayerModel.presets()) {
+                players.add(preset);
+            }
+        }
+
+        long games = Long.parseLong(options.getOrDefault("games", "1000000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        int parallelism = Integer.parseInt(options.getOrDefault("parallelism",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int maxRounds = Integer.parseInt(options.getOrDefault("maxRounds", "200"));
+        DifficultyParameters defaults = DifficultyParameters.defaults(maxRounds);
+
+        List<DifficultyParameters> parameterSets = new ArrayList<>();
+        for (long initialLength : values(options, "initialLength", defaults.initialLength)) {
+            for (long growth : values(options, "growth", defaults.growth)) {
+                for (long displayDelay : values(options, "displayDelay", defaults.displayDelay)) {
+                    for (long playerStartDelay : values(options, "playerStartDelay", defaults.playerStartDelay)) {
+                        for (long inputInterval : values(options, "inputInterval", defaults.inputInterval)) {
+                            for (long transition : values(options, "directionChangeDelay", defaults.directionChangeDelay)) {
+                                parameterSets.add(new DifficultyParameters((int) initialLength, (int) growth,
+                                        displayDelay, playerStartDelay, inputInterval, transition, maxRounds));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        PrintStream out = options.containsKey("out") ? new PrintStream(options.get("out")) : null;
+        if (out != null) {
+            out.println(DifficultyParameters.CSV_HEADER + ",player,metric,value,count");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (DifficultyParameters parameters : parameterSets) {
+                for (PlayerModel player : players) {
+                    long start = System.nanoTime();
+                    SimulationResult result = pool.invoke(new SimulationTask(parameters, player, seed, 0, games));
+                    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                    printSummary(parameters, player, result, elapsedMs);
+                    if (out != null) {
+                        String prefix = parameters.toCsv() + "," + player.getName() + ",";
+                        writeCsv(out, prefix + "score,", result.getScores());
+                        writeCsv(out, prefix + "round,", result.getRounds());
+                        writeCsv(out, prefix + "durationSeconds,", result.getDurationSeconds());
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    private static long[] values(Map<String, String> options, String key, long defaultValue) {
+        String value = options.get(key);
+        if (value == null) {
+            return new long[]{defaultValue};
+        }
+        String[] parts = value.split(",");
+        long[] values = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Long.parseLong(parts[i].trim());
+        }
+        return values;
+    }
+
+    private static void printSummary(DifficultyParameters parameters, PlayerModel player,
+                                     SimulationResult result, long elapsedMs) {
+        Histogram scores = result.getScores();
+        Histogram rounds = result.getRounds();
+        Histogram duration = result.getDurationSeconds();
+        System.out.println(parameters + " player=" + player.getName()
+                + " games=" + scores.getTotal() + " (" + elapsedMs + " ms)");
+        System.out.println(String.format("  score    mean %.1f  p10 %d  p50 %d  p90 %d  p99 %d",
+                scores.mean(), scores.percentile(0.1), scores.percentile(0.5), scores.percentile(0.9), scores.percentile(0.99)));
+        System.out.println(String.format("  round    mean %.2f  p10 %d  p50 %d  p90 %d  p99 %d  survivors %d",
+                rounds.mean(), rounds.percentile(0.1), rounds.percentile(0.5), rounds.percentile(0.9), rounds.percentile(0.99),
+                result.getSurvivors()));
+        System.out.println(String.format("  duration mean %.0fs  p50 %ds  p90 %ds",
+                duration.mean(), duration.percentile(0.5), duration.percentile(0.9)));
+    }
+
+    private static void writeCsv(PrintStream out, String prefix, Histogram histogram) {
+        int max = histogram.getMaxValue();
+        for (int value = 0; value < max; value++) {
+            long count = histogram.getCount(value);
+            if (count != 0) {
+                out.println(prefix + value + "," + count);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.sequencegame.simulator;
+
+import com.example.sequencegame.AdaptiveLockout;
+import com.example.sequencegame.GameRules;
+import com.example.sequencegame.SequenceEngine;
+import com.example.sequencegame.SequenceStream;
+
+import java.util.Random;
+
+/**
+ * GameSimulator plays complete games against a PlayerModel using the same SequenceEngine as the app,
+ * keeping a virtual clock that follows the app's display, start and round transition delays.
+ * Inputs are spaced by the same AdaptiveLockout as the app. The player returns to neutral halfway
+ * through each reaction, so the lockout learns the player's pace as it would on a device, and a
+ * deliberate tilt to the opposite side always develops as slowly as the return, so it is never a rebound.
+ */
+public class GameSimulator {
+
+    private static final long NANOS_PER_MS = 1_000_000L;
+
+    private final DifficultyParameters parameters;
+    private final PlayerModel player;
+
+    public GameSimulator(DifficultyParameters parameters, PlayerModel player) {
+        this.parameters = parameters;
+        this.player = player;
+    }
+
+    /**
+     * Plays one game to completion and records its score, rounds reached and duration.
+     * @param random The random source for both the sequence and the player.
+     * @param result The result to record into.
+     */
+    public void playGame(Random random, SimulationResult result) {
+        SequenceEngine engine = new SequenceEngine(parameters.initialLength, 0, parameters.growth,
+                new SequenceStream(random.nextLong()));
+
+        long elapsedMs = GameRules.CALIBRATION_DELAY + GameRules.GET_READY_DELAY;
+        AdaptiveLockout lockout = new AdaptiveLockout(parameters.inputInterval * NANOS_PER_MS);
+        int round = 1;
+        boolean gameOver = false;
+
+        while (!gameOver) {
+            int length = engine.getSequenceLength();
+            double errorProbability = player.errorProbability(length);
+            elapsedMs += parameters.displayDelay * (length - 1) + parameters.playerStartDelay;
+
+            lockout.rearm();
+            for (int step = 0; step < length; step++) {
+                long reaction = player.sampleReactionMs(random);
+                if (step == 0) {
+                    // The first input of a round is not limited by the lockout of the previous one
+                    elapsedMs += reaction;
+                } else {
+                    lockout.onNeutral((elapsedMs + reaction / 2) * NANOS_PER_MS);
+                    long inputMs = elapsedMs + reaction;
+                    if (!lockout.isIntervalElapsed(inputMs * NANOS_PER_MS)) {
+                        // The player holds the next tilt until the lockout lets it through
+                        inputMs = elapsedMs + (lockout.getMinIntervalNanos() + NANOS_PER_MS - 1) / NANOS_PER_MS;
+                    }
+                    elapsedMs = inputMs;
+                }
+                int direction = player.recall(engine.getElement(step), errorProbability, random);
+                lockout.tryAccept(direction, elapsedMs * NANOS_PER_MS);
+
+                int outcome = engine.checkInput(direction);
+                if (outcome == SequenceEngine.RESULT_WRONG) {
+                    gameOver = true;
+                    break;
+                }
+            }
+
+            elapsedMs += parameters.directionChangeDelay;
+            if (!gameOver) {
+                if (round == parameters.maxRounds) {
+                    result.survivors++;
+                    break;
+                }
+                engine.nextRound();
+                round++;
+            }
+        }
+
+        result.scores.add(engine.getCurrentScore());
+        result.rounds.add(round);
+        result.durationSeconds.add((int) (elapsedMs / 1000));
+    }
+}
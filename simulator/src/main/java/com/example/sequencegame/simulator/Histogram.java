@@ -0,0 +1,78 @@
+package com.example.sequencegame.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Histogram counts non-negative integer values in one bucket per value.
+ * Each simulation task fills its own instance, and the results are merged when tasks join.
+ */
+public class Histogram {
+
+    private long[] counts = new long[64];
+    private long total;
+    private long sum;
+
+    public void add(int value) {
+        if (value >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+        }
+        counts[value]++;
+        total++;
+        sum += value;
+    }
+
+    /**
+     * Adds all counts of another histogram to this one.
+     * @param other The histogram to merge in.
+     */
+    public void merge(Histogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+    }
+
+    /**
+     * Returns the smallest value at or below which the given fraction of samples fall.
+     * @param quantile A fraction between 0 and 1.
+     */
+    public int percentile(double quantile) {
+        long target = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target && seen > 0) {
+                return i;
+            }
+        }
+        return counts.length - 1;
+    }
+
+    public double mean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getCount(int value) {
+        return value < counts.length ? counts[value] : 0;
+    }
+
+    /**
+     * Returns one past the largest value recorded so far.
+     */
+    public int getMaxValue() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
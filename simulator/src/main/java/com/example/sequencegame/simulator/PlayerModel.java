@@ -0,0 +1,128 @@
+package com.example.sequencegame.simulator;
+
+import java.util.Random;
+
+/**
+ * PlayerModel is a synthetic player used by the difficulty simulator.
+ * It recalls each element correctly unless it slips (errorRate) or the sequence is longer than
+ * its memory span, in which case every element beyond the span adds overloadErrorRate to the
+ * chance of a mistake. Reaction times follow a log-normal distribution, sampled from a
+ * precomputed quantile table because nextGaussian dominated the cost of a simulated game.
+ */
+public class PlayerModel {
+
+    private static final int REACTION_TABLE_SIZE = 4096;
+
+    private final String name;
+    private final int memorySpan;
+    private final double errorRate;
+    private final double overloadErrorRate;
+    private final long[] reactionQuantiles;
+
+    public PlayerModel(String name, int memorySpan, double errorRate, double overloadErrorRate,
+                       double reactionMedianMs, double reactionSigma) {
+        this.name = name;
+        this.memorySpan = memorySpan;
+        this.errorRate = errorRate;
+        this.overloadErrorRate = overloadErrorRate;
+
+        reactionQuantiles = new long[REACTION_TABLE_SIZE];
+        for (int i = 0; i < REACTION_TABLE_SIZE; i++) {
+            double z = inverseNormal((i + 0.5) / REACTION_TABLE_SIZE);
+            reactionQuantiles[i] = (long) (reactionMedianMs * Math.exp(reactionSigma * z));
+        }
+    }
+
+    /**
+     * Parses a player from "name:span:errorRate:overloadErrorRate:reactionMedianMs:reactionSigma".
+     * @param spec The colon-separated player description.
+     * @return The parsed PlayerModel.
+     */
+    public static PlayerModel parse(String spec) {
+        String[] parts = spec.split(":");
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("Expected name:span:errorRate:overloadErrorRate:reactionMedianMs:reactionSigma but got " + spec);
+        }
+        return new PlayerModel(parts[0], Integer.parseInt(parts[1]), Double.parseDouble(parts[2]),
+                Double.parseDouble(parts[3]), Double.parseDouble(parts[4]), Double.parseDouble(parts[5]));
+    }
+
+    /**
+     * Returns the built-in player presets used when none are given on the command line.
+     */
+    public static PlayerModel[] presets() {
+        return new PlayerModel[]{
+                new PlayerModel("novice", 6, 0.03, 0.15, 1200, 0.5),
+                new PlayerModel("average", 9, 0.015, 0.10, 900, 0.4),
+                new PlayerModel("expert", 16, 0.005, 0.05, 600, 0.3)
+        };
+    }
+
+    /**
+     * Returns the probability of getting a single element wrong in a sequence of the given length.
+     * @param sequenceLength The length of the sequence being entered.
+     */
+    public double errorProbability(int sequenceLength) {
+        double probability = errorRate + Math.max(0, sequenceLength - memorySpan) * overloadErrorRate;
+        return Math.min(1.0, probability);
+    }
+
+    /**
+     * Returns the direction the player tilts for one element of the sequence.
+     * @param expected The correct direction.
+     * @param errorProbability The result of errorProbability for the current sequence length.
+     * @param random The random source to draw from.
+     * @return The expected direction, or one of the three other directions on a mistake.
+     */
+    public int recall(int expected, double errorProbability, Random random) {
+        if (random.nextDouble() >= errorProbability) {
+            return expected;
+        }
+        return (expected + 1 + random.nextInt(3)) % 4;
+    }
+
+    /**
+     * Samples the time the player takes to produce the next tilt.
+     * @param random The random source to draw from.
+     * @return The reaction time in milliseconds.
+     */
+    public long sampleReactionMs(Random random) {
+        return reactionQuantiles[random.nextInt(REACTION_TABLE_SIZE)];
+    }
+
+    /**
+     * Approximates the inverse of the standard normal CDF (Acklam's rational approximation,
+     * relative error below 1.2e-9), used to build the reaction time table.
+     * @param p A probability strictly between 0 and 1.
+     */
+    static double inverseNormal(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    public String getName() {
+        return name;
+    }
+}
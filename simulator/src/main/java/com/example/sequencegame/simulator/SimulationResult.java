@@ -0,0 +1,42 @@
+package com.example.sequencegame.simulator;
+
+/**
+ * SimulationResult holds the distributions gathered from a batch of simulated games.
+ */
+public class SimulationResult {
+
+    final Histogram scores = new Histogram();
+    final Histogram rounds = new Histogram();
+    final Histogram durationSeconds = new Histogram();
+    long survivors;
+
+    /**
+     * Adds the distributions of another batch to this one.
+     * @param other The result to merge in.
+     */
+    public void merge(SimulationResult other) {
+        scores.merge(other.scores);
+        rounds.merge(other.rounds);
+        durationSeconds.merge(other.durationSeconds);
+        survivors += other.survivors;
+    }
+
+    public Histogram getScores() {
+        return scores;
+    }
+
+    public Histogram getRounds() {
+        return rounds;
+    }
+
+    public Histogram getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Returns the number of games that were still running when maxRounds was reached.
+     */
+    public long getSurvivors() {
+        return survivors;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.sequencegame.simulator;
+
+import java.util.Random;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * SimulationTask plays a range of games on the fork/join pool, splitting the range in half
+ * until it is small enough to run directly.
+ * Each leaf seeds its own Random from the base seed and its first game index, so results are
+ * reproducible for a given seed regardless of how many threads run the simulation.
+ */
+public class SimulationTask extends RecursiveTask<SimulationResult> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long LEAF_GAMES = 8192;
+
+    private final DifficultyParameters parameters;
+    private final PlayerModel player;
+    private final long seed;
+    private final long from;
+    private final long to;
+
+    public SimulationTask(DifficultyParameters parameters, PlayerModel player, long seed, long from, long to) {
+        this.parameters = parameters;
+        this.player = player;
+        this.seed = seed;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected SimulationResult compute() {
+        if (to - from <= LEAF_GAMES) {
+            SimulationResult result = new SimulationResult();
+            GameSimulator simulator = new GameSimulator(parameters, player);
+            Random random = new Random(seed * 0x9E3779B97F4A7C15L + from);
+            for (long i = from; i < to; i++) {
+                simulator.playGame(random, result);
+            }
+            return result;
+        }
+
+        long middle = from + (to - from) / 2;
+        SimulationTask left = new SimulationTask(parameters, player, seed, from, middle);
+        SimulationTask right = new SimulationTask(parameters, player, seed, middle, to);
+        left.fork();
+        SimulationResult result = right.compute();
+        result.merge(left.join());
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.sequencegame.simulator;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the difficulty simulator.
+ */
+public class DifficultySimulatorTest {
+
+    @Test
+    public void sameSeed_givesSameDistributionOnAnyPoolSize() {
+        DifficultyParameters parameters = DifficultyParameters.defaults(50);
+        PlayerModel player = PlayerModel.presets()[1];
+
+        SimulationResult single = new ForkJoinPool(1).invoke(new SimulationTask(parameters, player, 42, 0, 50000));
+        SimulationResult parallel = new ForkJoinPool(4).invoke(new SimulationTask(parameters, player, 42, 0, 50000));
+
+        assertEquals(50000, single.getScores().getTotal());
+        for (int score = 0; score < single.getScores().getMaxValue(); score++) {
+            assertEquals(single.getScores().getCount(score), parallel.getScores().getCount(score));
+        }
+    }
+
+    @Test
+    public void perfectPlayer_survivesUntilMaxRounds() {
+        DifficultyParameters parameters = DifficultyParameters.defaults(10);
+        PlayerModel perfect = new PlayerModel("perfect", 1000, 0, 0, 500, 0.2);
+
+        SimulationResult result = new ForkJoinPool(2).invoke(new SimulationTask(parameters, perfect, 1, 0, 1000));
+
+        assertEquals(1000, result.getSurvivors());
+        assertEquals(10, result.getRounds().percentile(0.01));
+        // Ten rounds of 4, 6, ..., 22 elements
+        assertEquals(130, result.getScores().percentile(0.5));
+    }
+
+    @Test
+    public void fastPlayer_isPacedByTheAdaptiveLockout() {
+        DifficultyParameters parameters = DifficultyParameters.defaults(10);
+        PlayerModel fast = new PlayerModel("fast", 1000, 0, 0, 250, 0.05);
+
+        SimulationResult result = new ForkJoinPool(2).invoke(new SimulationTask(parameters, fast, 1, 0, 1000));
+
+        // 165 s of calibration, playback and transitions, plus 130 inputs: about 33 s at the player's
+        // 250 ms pace, against 60 s or more if every input waited the starting 500 ms interval
+        assertTrue(result.getDurationSeconds().percentile(0.5) < 210);
+        assertTrue(result.getDurationSeconds().percentile(0.5) >= 195);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void main_rejectsUnknownOption() throws Exception {
+        DifficultySimulator.main(new String[]{"--game=10"});
+    }
+
+    @Test
+    public void inverseNormal_matchesKnownQuantiles() {
+        assertEquals(0.0, PlayerModel.inverseNormal(0.5), 1e-9);
+        assertEquals(1.959964, PlayerModel.inverseNormal(0.975), 1e-5);
+        assertEquals(-2.326348, PlayerModel.inverseNormal(0.01), 1e-5);
+    }
+}